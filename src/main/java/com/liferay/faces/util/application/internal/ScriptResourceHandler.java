@@ -0,0 +1,283 @@
+/**
+ * Copyright (c) 2000-2018 Liferay, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.liferay.faces.util.application.internal;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+
+import javax.faces.application.ResourceHandler;
+import javax.faces.application.ResourceHandlerWrapper;
+import javax.faces.application.ViewHandler;
+import javax.faces.context.ExternalContext;
+import javax.faces.context.FacesContext;
+
+import com.liferay.faces.util.cache.Cache;
+import com.liferay.faces.util.cache.CacheFactory;
+import com.liferay.faces.util.client.Script;
+import com.liferay.faces.util.client.internal.SegmentedScript;
+import com.liferay.faces.util.config.WebConfigParam;
+import com.liferay.faces.util.logging.Logger;
+import com.liferay.faces.util.logging.LoggerFactory;
+
+
+/**
+ * This class extends {@link ResourceHandlerWrapper} in order to serve combined body scripts as content-addressed
+ * resources. Since the name of each resource is the SHA-256 hash of its content, the content of a given URL never
+ * changes and the resource can be cached by the browser indefinitely. Since whether or not a script is static is
+ * inferred from the scripts that were previously rendered, a static script may still contain data that is specific to
+ * a user, so the resources are marked as private in order to prevent shared caches (such as proxies and CDNs) from
+ * storing them. The combined scripts are stored in an application-scoped LRU cache (see {@link
+ * WebConfigParam#ExternalizedBodyScriptsMaxCacheCapacity}), so a resource can only be served by the webapp (cluster
+ * node) that rendered the page which refers to it, and only until it is evicted from the cache.
+ *
+ * @author  Kyle Stiemann
+ */
+public class ScriptResourceHandler extends ResourceHandlerWrapper {
+
+	// Logger
+	private static final Logger logger = LoggerFactory.getLogger(ScriptResourceHandler.class);
+
+	// Public Constants
+	public static final String LIBRARY_NAME = "liferay-faces-util-scripts";
+
+	// Package-Private Constants
+	static final String COMBINED_SCRIPT_CACHE = ScriptResourceHandler.class.getName() + ".combinedScriptCache";
+	static final String RENDERED_COMBINED_SCRIPT_CACHE = ScriptResourceHandler.class.getName() +
+		".renderedCombinedScriptCache";
+	static final String RENDERED_SCRIPT_CACHE = ScriptResourceHandler.class.getName() + ".renderedScriptCache";
+
+	// Private Constants
+	private static final int RENDERED_SCRIPT_MAX_CACHE_CAPACITY = 4096;
+
+	// Private Data Members
+	private ResourceHandler wrappedResourceHandler;
+
+	public ScriptResourceHandler(ResourceHandler wrappedResourceHandler) {
+		this.wrappedResourceHandler = wrappedResourceHandler;
+	}
+
+	/**
+	 * Stores the specified combined script and returns the URL of the resource that serves it, or null if the combined
+	 * script was not rendered by a previous request (in which case it should be rendered inline). The combined script
+	 * is recorded as rendered.
+	 */
+	public static String getRequestPath(FacesContext facesContext, String combinedScript) {
+
+		ExternalContext externalContext = facesContext.getExternalContext();
+		String resourceName = toHash(combinedScript);
+		Cache<String, String> combinedScriptCache = getCombinedScriptCache(externalContext);
+
+		if (!combinedScriptCache.containsKey(resourceName)) {
+
+			// A combined script is only externalized once it has been rendered more than once, so that one-off
+			// variants (for example a combination that contains the data of a single user) remain inline rather than
+			// evicting the combined scripts that are shared by many pages from the cache.
+			Cache<String, Boolean> renderedCombinedScriptCache = getCache(externalContext,
+					RENDERED_COMBINED_SCRIPT_CACHE, RENDERED_SCRIPT_MAX_CACHE_CAPACITY);
+
+			if (!renderedCombinedScriptCache.containsKey(resourceName)) {
+
+				renderedCombinedScriptCache.putValueIfAbsent(resourceName, Boolean.TRUE);
+
+				return null;
+			}
+
+			combinedScriptCache.putValueIfAbsent(resourceName, combinedScript);
+		}
+
+		// ViewHandler.getActionURL() maps the resource path to the FacesServlet (via either the prefix or the extension
+		// mapping) in the same way that it would map a view.
+		ViewHandler viewHandler = facesContext.getApplication().getViewHandler();
+		String actionURL = viewHandler.getActionURL(facesContext,
+				ResourceHandler.RESOURCE_IDENTIFIER + "/" + resourceName);
+
+		return externalContext.encodeResourceURL(actionURL + "?ln=" + LIBRARY_NAME);
+	}
+
+	/**
+	 * Returns true if a script with the same source code was rendered by a previous request. Scripts that are rendered
+	 * repeatedly are considered static (and therefore worth caching on the client) while all other scripts are
+	 * considered to contain per-request dynamic data. The script is recorded as rendered.
+	 */
+	public static boolean isStaticScript(ExternalContext externalContext, Script script) {
+
+		int sourceCodeHashCode;
+		int sourceCodeLength;
+
+		// The source code of a SegmentedScript is hashed directly from its buffer so that it is never converted to a
+		// String.
+		if (script instanceof SegmentedScript) {
+
+			SegmentedScript segmentedScript = (SegmentedScript) script;
+			sourceCodeHashCode = segmentedScript.getSourceCodeHashCode();
+			sourceCodeLength = segmentedScript.getSourceCodeLength();
+		}
+		else {
+
+			String sourceCode = script.getSourceCode();
+
+			if (sourceCode == null) {
+				return false;
+			}
+
+			sourceCodeHashCode = sourceCode.hashCode();
+			sourceCodeLength = sourceCode.length();
+		}
+
+		// A hash collision only causes a dynamic script to be treated as static (which means that it is externalized
+		// into a resource that will not be reused), so the content itself does not need to be retained.
+		Long renderedScriptKey = (((long) sourceCodeHashCode) << 32) | sourceCodeLength;
+		Cache<Long, Boolean> renderedScriptCache = getCache(externalContext, RENDERED_SCRIPT_CACHE,
+				RENDERED_SCRIPT_MAX_CACHE_CAPACITY);
+
+		if (renderedScriptCache.containsKey(renderedScriptKey)) {
+			return true;
+		}
+
+		renderedScriptCache.putValueIfAbsent(renderedScriptKey, Boolean.TRUE);
+
+		return false;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <K, V> Cache<K, V> getCache(ExternalContext externalContext, String cacheName, int maxCapacity) {
+
+		Map<String, Object> applicationMap = externalContext.getApplicationMap();
+		Cache<K, V> cache = (Cache<K, V>) applicationMap.get(cacheName);
+
+		if (cache == null) {
+
+			// If two threads race to create the cache, then one of the two instances simply goes unused.
+			cache = CacheFactory.getConcurrentLRUCacheInstance(externalContext, 16, maxCapacity);
+			applicationMap.put(cacheName, cache);
+		}
+
+		return cache;
+	}
+
+	private static Cache<String, String> getCombinedScriptCache(ExternalContext externalContext) {
+		return getCache(externalContext, COMBINED_SCRIPT_CACHE,
+				WebConfigParam.ExternalizedBodyScriptsMaxCacheCapacity.getIntegerValue(externalContext));
+	}
+
+	private static String getResourceName(ExternalContext externalContext) {
+
+		// With prefix mapping the path info is /javax.faces.resource/name and with extension mapping the servlet path
+		// is /javax.faces.resource/name.extension
+		String path = externalContext.getRequestPathInfo();
+
+		if (path == null) {
+
+			path = externalContext.getRequestServletPath();
+
+			if (path == null) {
+				return null;
+			}
+
+			int extensionPos = path.lastIndexOf('.');
+
+			if (extensionPos > 0) {
+				path = path.substring(0, extensionPos);
+			}
+		}
+
+		return path.substring(path.lastIndexOf('/') + 1);
+	}
+
+	private static String toHash(String combinedScript) {
+
+		try {
+
+			MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+			byte[] digest = messageDigest.digest(combinedScript.getBytes("UTF-8"));
+			StringBuilder buf = new StringBuilder(digest.length * 2);
+
+			for (byte b : digest) {
+				buf.append(Integer.toHexString((b & 0xff) | 0x100).substring(1));
+			}
+
+			return buf.toString();
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+		catch (UnsupportedEncodingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	@Override
+	public ResourceHandler getWrapped() {
+		return wrappedResourceHandler;
+	}
+
+	@Override
+	public void handleResourceRequest(FacesContext facesContext) throws IOException {
+
+		ExternalContext externalContext = facesContext.getExternalContext();
+		Map<String, String> requestParameterMap = externalContext.getRequestParameterMap();
+
+		if (!LIBRARY_NAME.equals(requestParameterMap.get("ln"))) {
+			super.handleResourceRequest(facesContext);
+
+			return;
+		}
+
+		String resourceName = getResourceName(externalContext);
+		Cache<String, String> combinedScriptCache = getCombinedScriptCache(externalContext);
+		String combinedScript = null;
+
+		if (resourceName != null) {
+			combinedScript = combinedScriptCache.getValue(resourceName);
+		}
+
+		if (combinedScript == null) {
+
+			// Since the page that refers to the resource cannot fall back to inline scripts, a missing resource means
+			// that the page is missing its scripts.
+			logger.warn("Combined script [{0}] is not cached. It was rendered by another cluster node or it was " +
+				"evicted from the cache (see {1}).", resourceName,
+				WebConfigParam.ExternalizedBodyScriptsMaxCacheCapacity.getName());
+			externalContext.setResponseStatus(404);
+
+			return;
+		}
+
+		String eTag = "\"" + resourceName + "\"";
+		Map<String, String> requestHeaderMap = externalContext.getRequestHeaderMap();
+
+		// The resource name is the hash of the content, so the browser's copy is current whenever the ETag matches.
+		if (eTag.equals(requestHeaderMap.get("If-None-Match"))) {
+			externalContext.setResponseStatus(304);
+
+			return;
+		}
+
+		byte[] bytes = combinedScript.getBytes("UTF-8");
+		externalContext.setResponseContentType("text/javascript;charset=UTF-8");
+		externalContext.setResponseHeader("Cache-Control", "private, max-age=31536000, immutable");
+		externalContext.setResponseHeader("ETag", eTag);
+		externalContext.setResponseContentLength(bytes.length);
+
+		OutputStream outputStream = externalContext.getResponseOutputStream();
+		outputStream.write(bytes);
+		outputStream.flush();
+	}
+}
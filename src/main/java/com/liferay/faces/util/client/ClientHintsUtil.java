@@ -0,0 +1,45 @@
+/**
+ * Copyright (c) 2000-2018 Liferay, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.liferay.faces.util.client;
+
+import javax.faces.context.ExternalContext;
+
+
+/**
+ * This class contains utility methods for User-Agent Client Hints. When the client hint headers are present, the
+ * {@link BrowserSniffer} uses them in preference to the (frozen and reduced) User-Agent string.
+ *
+ * @author  Kyle Stiemann
+ */
+public class ClientHintsUtil {
+
+	// Public Constants
+	public static final String ACCEPT_CH = "Accept-CH";
+	public static final String SEC_CH_UA = "Sec-CH-UA";
+	public static final String SEC_CH_UA_MOBILE = "Sec-CH-UA-Mobile";
+	public static final String SEC_CH_UA_PLATFORM = "Sec-CH-UA-Platform";
+
+	/**
+	 * Adds an <code>Accept-CH</code> response header which asks the browser to send the {@link #SEC_CH_UA}, {@link
+	 * #SEC_CH_UA_MOBILE} and {@link #SEC_CH_UA_PLATFORM} client hints with subsequent requests. This method must be
+	 * called before the response is committed.
+	 *
+	 * @param  externalContext  The external context associated with the current faces context.
+	 */
+	public static void requestClientHints(ExternalContext externalContext) {
+		externalContext.addResponseHeader(ACCEPT_CH, SEC_CH_UA + ", " + SEC_CH_UA_MOBILE + ", " + SEC_CH_UA_PLATFORM);
+	}
+}
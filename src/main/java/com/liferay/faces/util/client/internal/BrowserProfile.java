@@ -0,0 +1,311 @@
+/**
+ * Copyright (c) 2000-2018 Liferay, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.liferay.faces.util.client.internal;
+
+/**
+ * This class is an immutable snapshot of everything that {@link LiferayPortalBrowserSnifferImpl} can determine from a
+ * User-Agent string (refined by User-Agent Client Hints when they are present). Since a profile only depends on the
+ * User-Agent string and the client hints, profiles are computed once and shared by all requests with the same headers
+ * (see {@link BrowserSnifferFactoryImpl}).
+ *
+ * @author  Kyle Stiemann
+ */
+final class BrowserProfile {
+
+	// Private Final Data Members
+	private final boolean air;
+	private final boolean android;
+	private final String browserId;
+	private final boolean chrome;
+	private final boolean firefox;
+	private final boolean gecko;
+	private final boolean ie;
+	private final boolean ieOnWin32;
+	private final boolean ieOnWin64;
+	private final boolean ipad;
+	private final boolean iphone;
+	private final boolean linux;
+	private final boolean mac;
+	private final float majorVersion;
+	private final boolean mobile;
+	private final boolean mozilla;
+	private final boolean opera;
+	private final String revision;
+	private final boolean rtf;
+	private final boolean safari;
+	private final boolean sun;
+	private final String version;
+	private final boolean webKit;
+	private final boolean windows;
+
+	private BrowserProfile(String userAgent, ClientHints clientHints) {
+
+		// Scan the User-Agent once and derive every value from the matched tokens rather than searching the User-Agent
+		// for each token. The logic mirrors the String overloads of LiferayPortalBrowserSnifferImpl.
+		UserAgentFeatures features = UserAgentFeatures.scan(userAgent);
+		boolean android = features.contains(UserAgentFeatures.ANDROID);
+		boolean chrome = features.contains(UserAgentFeatures.CHROME);
+		boolean linux = features.contains(UserAgentFeatures.LINUX);
+		boolean mac = features.contains(UserAgentFeatures.MAC);
+		boolean mobile = features.contains(UserAgentFeatures.MOBILE) ||
+			(android && features.contains(UserAgentFeatures.NEXUS));
+		boolean opera = features.contains(UserAgentFeatures.OPERA);
+		boolean windows = features.containsAny(UserAgentFeatures.WINDOWS, UserAgentFeatures.WIN32,
+				UserAgentFeatures.SIXTEEN_BIT);
+		String revision = features.parseVersion(UserAgentFeatures.REVISION_LEADINGS,
+				LiferayPortalBrowserSnifferImpl.revisionSeparators);
+		String version = features.parseVersion(UserAgentFeatures.VERSION_LEADINGS,
+				LiferayPortalBrowserSnifferImpl.versionSeparators);
+
+		if (version.isEmpty()) {
+			version = revision;
+		}
+
+		// Client hints are structured and are not subject to User-Agent reduction, so they take precedence over the
+		// values that were guessed from the User-Agent. However, each hint only overrides the values that it actually
+		// identifies, and everything else is left as it was determined from the User-Agent.
+		if (clientHints != null) {
+
+			if (clientHints.hasBrand("Chromium") || clientHints.hasBrand("Google Chrome")) {
+				chrome = true;
+			}
+
+			if (clientHints.hasBrand("Opera")) {
+				opera = true;
+			}
+
+			// The version of a Chromium based browser is parsed from the Chrome/ token of the User-Agent, so it is only
+			// comparable with the version of the Chromium engine (rather than with the Opera or Edge version for
+			// example). The low-entropy Sec-CH-UA header only contains the major version, so keep the more precise
+			// version from the User-Agent if it agrees with the client hint.
+			String chromiumVersion = clientHints.getChromiumVersion();
+
+			if ((chromiumVersion != null) && !version.equals(chromiumVersion) &&
+					!version.startsWith(chromiumVersion + ".")) {
+				version = chromiumVersion;
+			}
+
+			Boolean mobileHint = clientHints.getMobile();
+
+			if (mobileHint != null) {
+				mobile = mobileHint;
+			}
+
+			// Platforms such as "Chrome OS" or "Unknown" do not map onto the platform values of the sniffer.
+			String platform = clientHints.getPlatform();
+
+			if ("Android".equals(platform) || "Linux".equals(platform) || "macOS".equals(platform) ||
+					"Windows".equals(platform)) {
+				android = "Android".equals(platform);
+				linux = android || "Linux".equals(platform);
+				mac = "macOS".equals(platform);
+				windows = "Windows".equals(platform);
+			}
+		}
+
+		this.air = features.contains(UserAgentFeatures.ADOBEAIR);
+		this.android = android;
+		this.chrome = chrome;
+		this.gecko = features.contains(UserAgentFeatures.GECKO);
+		this.ie = features.contains(UserAgentFeatures.MSIE) && !opera;
+
+		boolean win64 = features.containsAny(UserAgentFeatures.WOW64, UserAgentFeatures.WIN64);
+		this.ieOnWin32 = ie && !win64;
+		this.ieOnWin64 = ie && win64;
+		this.ipad = features.contains(UserAgentFeatures.IPAD);
+		this.iphone = features.contains(UserAgentFeatures.IPHONE);
+		this.linux = linux;
+		this.mac = mac;
+		this.mobile = mobile;
+		this.mozilla = features.contains(UserAgentFeatures.MOZILLA) &&
+			!features.containsAny(UserAgentFeatures.COMPATIBLE, UserAgentFeatures.WEBKIT);
+		this.firefox = mozilla &&
+			features.containsAny(UserAgentFeatures.FIREFOX, UserAgentFeatures.MINEFIELD, UserAgentFeatures.GRANPARADISO,
+				UserAgentFeatures.BONECHO, UserAgentFeatures.FIREBIRD, UserAgentFeatures.PHOENIX,
+				UserAgentFeatures.CAMINO);
+		this.opera = opera;
+		this.webKit = features.containsAny(UserAgentFeatures.KHTML, UserAgentFeatures.APPLEWEBKIT);
+		this.safari = webKit && features.contains(UserAgentFeatures.SAFARI);
+		this.sun = features.contains(UserAgentFeatures.SUNOS);
+		this.windows = windows;
+
+		if (ie) {
+			this.browserId = LiferayPortalBrowserSniffer.BROWSER_ID_IE;
+		}
+		else if (firefox) {
+			this.browserId = LiferayPortalBrowserSniffer.BROWSER_ID_FIREFOX;
+		}
+		else {
+			this.browserId = LiferayPortalBrowserSniffer.BROWSER_ID_OTHER;
+		}
+
+		this.revision = revision;
+		this.version = version;
+		this.majorVersion = LiferayPortalBrowserSnifferCompat.GetterUtil.getFloat(version);
+		this.rtf = isRtf(android, chrome, ie, mozilla, opera, safari, mobile, majorVersion);
+	}
+
+	/**
+	 * Returns true if the browser supports rich text editing. The logic mirrors {@link
+	 * LiferayPortalBrowserSnifferImpl#isRtf(String)}.
+	 */
+	private static boolean isRtf(boolean android, boolean chrome, boolean ie, boolean mozilla, boolean opera,
+		boolean safari, boolean mobile, float majorVersion) {
+
+		if (android || chrome) {
+			return true;
+		}
+
+		if (ie && (majorVersion >= 5.5)) {
+			return true;
+		}
+
+		if (mozilla && (majorVersion >= 1.3)) {
+			return true;
+		}
+
+		if (opera && (!mobile || (majorVersion >= 10.0))) {
+			return true;
+		}
+
+		if (safari && ((mobile && (majorVersion >= 5.0)) || (!mobile && (majorVersion >= 3.0)))) {
+			return true;
+		}
+
+		return false;
+	}
+
+	/**
+	 * Returns a new profile of the specified User-Agent.
+	 *
+	 * @param  userAgent  The value of the User-Agent header, or null if the header is not present.
+	 */
+	public static BrowserProfile newInstance(String userAgent) {
+		return newInstance(userAgent, null);
+	}
+
+	/**
+	 * Returns a new profile of the specified User-Agent and client hints. Values that can be determined from the client
+	 * hints take precedence over the values that are determined from the User-Agent.
+	 *
+	 * @param  userAgent    The value of the User-Agent header, or null if the header is not present.
+	 * @param  clientHints  The client hints of the request, or null if the request does not contain client hints.
+	 */
+	public static BrowserProfile newInstance(String userAgent, ClientHints clientHints) {
+
+		if (userAgent == null) {
+			userAgent = "";
+		}
+
+		return new BrowserProfile(userAgent.toLowerCase(), clientHints);
+	}
+
+	public String getBrowserId() {
+		return browserId;
+	}
+
+	public float getMajorVersion() {
+		return majorVersion;
+	}
+
+	public String getRevision() {
+		return revision;
+	}
+
+	public String getVersion() {
+		return version;
+	}
+
+	public boolean isAir() {
+		return air;
+	}
+
+	public boolean isAndroid() {
+		return android;
+	}
+
+	public boolean isChrome() {
+		return chrome;
+	}
+
+	public boolean isFirefox() {
+		return firefox;
+	}
+
+	public boolean isGecko() {
+		return gecko;
+	}
+
+	public boolean isIe() {
+		return ie;
+	}
+
+	public boolean isIeOnWin32() {
+		return ieOnWin32;
+	}
+
+	public boolean isIeOnWin64() {
+		return ieOnWin64;
+	}
+
+	public boolean isIpad() {
+		return ipad;
+	}
+
+	public boolean isIphone() {
+		return iphone;
+	}
+
+	public boolean isLinux() {
+		return linux;
+	}
+
+	public boolean isMac() {
+		return mac;
+	}
+
+	public boolean isMobile() {
+		return mobile;
+	}
+
+	public boolean isMozilla() {
+		return mozilla;
+	}
+
+	public boolean isOpera() {
+		return opera;
+	}
+
+	public boolean isRtf() {
+		return rtf;
+	}
+
+	public boolean isSafari() {
+		return safari;
+	}
+
+	public boolean isSun() {
+		return sun;
+	}
+
+	public boolean isWebKit() {
+		return webKit;
+	}
+
+	public boolean isWindows() {
+		return windows;
+	}
+}
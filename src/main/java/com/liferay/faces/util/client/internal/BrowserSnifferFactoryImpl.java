@@ -16,10 +16,13 @@
 package com.liferay.faces.util.client.internal;
 
 import java.io.Serializable;
+import java.util.Map;
 
 import javax.faces.context.ExternalContext;
 import javax.servlet.http.HttpServletRequest;
 
+import com.liferay.faces.util.cache.Cache;
+import com.liferay.faces.util.cache.CacheFactory;
 import com.liferay.faces.util.client.BrowserSniffer;
 import com.liferay.faces.util.client.BrowserSnifferFactory;
 
@@ -32,12 +35,40 @@ public class BrowserSnifferFactoryImpl extends BrowserSnifferFactory implements
 	// serialVersionUID
 	private static final long serialVersionUID = 2480449562969899228L;
 
+	// Private Constants
+	private static final String BROWSER_PROFILE_CACHE = BrowserSnifferFactoryImpl.class.getName() +
+		".browserProfileCache";
+	private static final int BROWSER_PROFILE_MAX_CACHE_CAPACITY = 1024;
+
+	@SuppressWarnings("unchecked")
+	private static Cache<String, BrowserProfile> getBrowserProfileCache(ExternalContext externalContext) {
+
+		Map<String, Object> applicationMap = externalContext.getApplicationMap();
+		Cache<String, BrowserProfile> browserProfileCache = (Cache<String, BrowserProfile>) applicationMap.get(
+				BROWSER_PROFILE_CACHE);
+
+		if (browserProfileCache == null) {
+
+			// The number of distinct User-Agent strings is unbounded (since clients can send anything), so the cache
+			// is bounded by an LRU algorithm. If two threads race to create the cache, then one of the two instances
+			// simply goes unused.
+			browserProfileCache = CacheFactory.getConcurrentLRUCacheInstance(externalContext, 16,
+					BROWSER_PROFILE_MAX_CACHE_CAPACITY);
+			applicationMap.put(BROWSER_PROFILE_CACHE, browserProfileCache);
+		}
+
+		return browserProfileCache;
+	}
+
 	@Override
 	public BrowserSniffer getBrowserSniffer(ExternalContext externalContext) {
 
 		HttpServletRequest httpServletRequest = (HttpServletRequest) externalContext.getRequest();
 
-		return new BrowserSnifferImpl(httpServletRequest);
+		// Every BrowserSniffer method only depends on the User-Agent and the client hints (except for acceptsGzip()),
+		// so the immutable profile of each distinct set of headers is computed once and shared by all requests. The
+		// profile is looked up lazily so that creating a sniffer that is never queried costs nothing.
+		return new BrowserSnifferImpl(httpServletRequest, getBrowserProfileCache(externalContext));
 	}
 
 	@Override
@@ -17,7 +17,9 @@ package com.liferay.faces.util.client.internal;
 
 import javax.servlet.http.HttpServletRequest;
 
+import com.liferay.faces.util.cache.Cache;
 import com.liferay.faces.util.client.BrowserSniffer;
+import com.liferay.faces.util.client.ClientHintsUtil;
 
 
 /**
@@ -26,140 +28,197 @@ import com.liferay.faces.util.client.BrowserSniffer;
 public class BrowserSnifferImpl extends LiferayPortalBrowserSnifferImpl implements BrowserSniffer {
 
 	// Private Data Members
+	private Boolean acceptsGzip;
+	private BrowserProfile browserProfile;
+	private Cache<String, BrowserProfile> browserProfileCache;
 	private HttpServletRequest httpServletRequest;
 
 	public BrowserSnifferImpl(HttpServletRequest httpServletRequest) {
 		this.httpServletRequest = httpServletRequest;
 	}
 
+	BrowserSnifferImpl(HttpServletRequest httpServletRequest, Cache<String, BrowserProfile> browserProfileCache) {
+		this.httpServletRequest = httpServletRequest;
+		this.browserProfileCache = browserProfileCache;
+	}
+
 	@Override
 	public boolean acceptsGzip() {
-		return acceptsGzip(httpServletRequest);
+
+		if (acceptsGzip == null) {
+			acceptsGzip = acceptsGzip(httpServletRequest);
+		}
+
+		return acceptsGzip;
 	}
 
 	@Override
 	public String getBrowserId() {
-		return getBrowserId(httpServletRequest);
+		return getBrowserProfile().getBrowserId();
 	}
 
 	@Override
 	public float getMajorVersion() {
-		return getMajorVersion(httpServletRequest);
+		return getBrowserProfile().getMajorVersion();
 	}
 
 	@Override
 	public String getRevision() {
-		return getRevision(httpServletRequest);
+		return getBrowserProfile().getRevision();
 	}
 
 	@Override
 	public String getVersion() {
-		return getVersion(httpServletRequest);
+		return getBrowserProfile().getVersion();
 	}
 
 	@Override
 	public boolean isAir() {
-		return isAir(httpServletRequest);
+		return getBrowserProfile().isAir();
 	}
 
 	@Override
 	public boolean isAndroid() {
-		return isAndroid(httpServletRequest);
+		return getBrowserProfile().isAndroid();
 	}
 
 	@Override
 	public boolean isChrome() {
-		return isChrome(httpServletRequest);
+		return getBrowserProfile().isChrome();
 	}
 
 	@Override
 	public boolean isFirefox() {
-		return isFirefox(httpServletRequest);
+		return getBrowserProfile().isFirefox();
 	}
 
 	@Override
 	public boolean isGecko() {
-		return isGecko(httpServletRequest);
+		return getBrowserProfile().isGecko();
 	}
 
 	@Override
 	public boolean isIe() {
-		return isIe(httpServletRequest);
+		return getBrowserProfile().isIe();
 	}
 
 	@Override
 	public boolean isIeOnWin32() {
-		return isIeOnWin32(httpServletRequest);
+		return getBrowserProfile().isIeOnWin32();
 	}
 
 	@Override
 	public boolean isIeOnWin64() {
-		return isIeOnWin64(httpServletRequest);
+		return getBrowserProfile().isIeOnWin64();
 	}
 
 	@Override
 	public boolean isIpad() {
-		String userAgent = getUserAgent(httpServletRequest);
-
-		if (userAgent.contains("ipad")) {
-			return true;
-		}
-
-		return false;
+		return getBrowserProfile().isIpad();
 	}
 
 	@Override
 	public boolean isIphone() {
-		return isIphone(httpServletRequest);
+		return getBrowserProfile().isIphone();
 	}
 
 	@Override
 	public boolean isLinux() {
-		return isLinux(httpServletRequest);
+		return getBrowserProfile().isLinux();
 	}
 
 	@Override
 	public boolean isMac() {
-		return isMac(httpServletRequest);
+		return getBrowserProfile().isMac();
 	}
 
 	@Override
 	public boolean isMobile() {
-		return isMobile(httpServletRequest);
+		return getBrowserProfile().isMobile();
 	}
 
 	@Override
 	public boolean isMozilla() {
-		return isMozilla(httpServletRequest);
+		return getBrowserProfile().isMozilla();
 	}
 
 	@Override
 	public boolean isOpera() {
-		return isOpera(httpServletRequest);
+		return getBrowserProfile().isOpera();
 	}
 
 	@Override
 	public boolean isRtf() {
-		return isRtf(httpServletRequest);
+		return getBrowserProfile().isRtf();
 	}
 
 	@Override
 	public boolean isSafari() {
-		return isSafari(httpServletRequest);
+		return getBrowserProfile().isSafari();
 	}
 
 	@Override
 	public boolean isSun() {
-		return isSun(httpServletRequest);
+		return getBrowserProfile().isSun();
 	}
 
 	@Override
 	public boolean isWebKit() {
-		return isWebKit(httpServletRequest);
+		return getBrowserProfile().isWebKit();
 	}
 
 	@Override
 	public boolean isWindows() {
-		return isWindows(httpServletRequest);
+		return getBrowserProfile().isWindows();
+	}
+
+	private BrowserProfile getBrowserProfile() {
+
+		if (browserProfile == null) {
+
+			String userAgent = null;
+			ClientHints clientHints = null;
+			String browserProfileKey = null;
+
+			if (httpServletRequest != null) {
+
+				// Honor a "User-Agent" request attribute that was set before the header is consulted, just like
+				// LiferayPortalBrowserSnifferImpl.getUserAgent(HttpServletRequest).
+				userAgent = getUserAgent(httpServletRequest);
+
+				String secChUa = httpServletRequest.getHeader(ClientHintsUtil.SEC_CH_UA);
+				String secChUaMobile = httpServletRequest.getHeader(ClientHintsUtil.SEC_CH_UA_MOBILE);
+				String secChUaPlatform = httpServletRequest.getHeader(ClientHintsUtil.SEC_CH_UA_PLATFORM);
+				clientHints = ClientHints.newInstance(secChUa, secChUaMobile, secChUaPlatform);
+
+				if (clientHints != null) {
+					browserProfileKey = userAgent + "\n" + secChUa + "\n" + secChUaMobile + "\n" + secChUaPlatform;
+				}
+			}
+
+			if (userAgent == null) {
+				userAgent = "";
+			}
+
+			if (browserProfileKey == null) {
+				browserProfileKey = userAgent;
+			}
+
+			if (browserProfileCache == null) {
+				browserProfile = BrowserProfile.newInstance(userAgent, clientHints);
+			}
+			else {
+
+				browserProfile = browserProfileCache.getValue(browserProfileKey);
+
+				if (browserProfile == null) {
+
+					browserProfile = BrowserProfile.newInstance(userAgent, clientHints);
+					browserProfile = browserProfileCache.putValueIfAbsent(browserProfileKey, browserProfile);
+				}
+			}
+		}
+
+		return browserProfile;
 	}
 }
@@ -0,0 +1,205 @@
+/**
+ * Copyright (c) 2000-2018 Liferay, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.liferay.faces.util.client.internal;
+
+import java.util.HashMap;
+import java.util.Map;
+
+
+/**
+ * This class is an immutable representation of the <code>Sec-CH-UA</code>, <code>Sec-CH-UA-Mobile</code> and <code>
+ * Sec-CH-UA-Platform</code> User-Agent Client Hints. The headers are short structured fields (a list of quoted brands
+ * with version parameters, a boolean and a quoted string respectively) so they are parsed with a single scan rather
+ * than with the heuristics that are necessary for the User-Agent string.
+ *
+ * @author  Kyle Stiemann
+ */
+final class ClientHints {
+
+	// Private Constants
+	private static final String[] CHROMIUM_BRANDS = { "Chromium", "Google Chrome" };
+
+	// Private Final Data Members
+	private final Map<String, String> brandVersions;
+	private final Boolean mobile;
+	private final String platform;
+
+	private ClientHints(Map<String, String> brandVersions, Boolean mobile, String platform) {
+		this.brandVersions = brandVersions;
+		this.mobile = mobile;
+		this.platform = platform;
+	}
+
+	/**
+	 * Returns the client hints of the specified header values, or null if all of the header values are null.
+	 */
+	public static ClientHints newInstance(String secChUa, String secChUaMobile, String secChUaPlatform) {
+
+		if ((secChUa == null) && (secChUaMobile == null) && (secChUaPlatform == null)) {
+			return null;
+		}
+
+		Map<String, String> brandVersions = new HashMap<String, String>();
+
+		if (secChUa != null) {
+			parseBrandVersions(secChUa, brandVersions);
+		}
+
+		Boolean mobile = null;
+
+		if (secChUaMobile != null) {
+
+			// Sec-CH-UA-Mobile is a structured boolean, so any value other than ?1 or ?0 does not identify anything.
+			String trimmedSecChUaMobile = secChUaMobile.trim();
+
+			if ("?1".equals(trimmedSecChUaMobile)) {
+				mobile = Boolean.TRUE;
+			}
+			else if ("?0".equals(trimmedSecChUaMobile)) {
+				mobile = Boolean.FALSE;
+			}
+		}
+
+		String platform = null;
+
+		if (secChUaPlatform != null) {
+			platform = unquote(secChUaPlatform.trim());
+		}
+
+		return new ClientHints(brandVersions, mobile, platform);
+	}
+
+	private static void parseBrandVersions(String secChUa, Map<String, String> brandVersions) {
+
+		// Sec-CH-UA is a list of quoted brands with a "v" parameter, for example:
+		// "Chromium";v="110", "Not A(Brand";v="24", "Google Chrome";v="110"
+		String brand = null;
+		String version = null;
+		boolean versionParameter = false;
+		int length = secChUa.length();
+		int i = 0;
+
+		while (i < length) {
+
+			char c = secChUa.charAt(i);
+
+			if (c == '"') {
+
+				int end = secChUa.indexOf('"', i + 1);
+
+				if (end < 0) {
+					end = length;
+				}
+
+				String value = secChUa.substring(i + 1, end);
+
+				if (brand == null) {
+					brand = value;
+				}
+				else if (versionParameter) {
+					version = value;
+				}
+
+				versionParameter = false;
+				i = end + 1;
+			}
+			else {
+
+				if (c == ',') {
+
+					putBrandVersion(brand, version, brandVersions);
+					brand = null;
+					version = null;
+					versionParameter = false;
+				}
+				else if (c == '=') {
+					versionParameter = (i > 0) && (secChUa.charAt(i - 1) == 'v') &&
+						((i == 1) || (secChUa.charAt(i - 2) == ';') || (secChUa.charAt(i - 2) == ' '));
+				}
+
+				i++;
+			}
+		}
+
+		putBrandVersion(brand, version, brandVersions);
+	}
+
+	private static void putBrandVersion(String brand, String version, Map<String, String> brandVersions) {
+
+		if (brand != null) {
+
+			if (version == null) {
+				version = "";
+			}
+
+			brandVersions.put(brand, version);
+		}
+	}
+
+	private static String unquote(String value) {
+
+		int length = value.length();
+
+		if ((length >= 2) && (value.charAt(0) == '"') && (value.charAt(length - 1) == '"')) {
+			value = value.substring(1, length - 1);
+		}
+
+		return value;
+	}
+
+	/**
+	 * Returns the major version of the Chromium engine (the "Chromium" brand, or the "Google Chrome" brand since both
+	 * always share a major version), or null if the <code>Sec-CH-UA</code> header did not contain either brand. Other
+	 * brands such as "Opera" or "Microsoft Edge" are intentionally ignored since their versions are not the version
+	 * that is parsed from the <code>Chrome/</code> token of the User-Agent.
+	 */
+	public String getChromiumVersion() {
+
+		for (String chromiumBrand : CHROMIUM_BRANDS) {
+
+			String brandVersion = brandVersions.get(chromiumBrand);
+
+			if ((brandVersion != null) && (brandVersion.length() > 0)) {
+				return brandVersion;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Returns the value of the <code>Sec-CH-UA-Mobile</code> header, or null if the header was not present or was not a
+	 * valid structured boolean.
+	 */
+	public Boolean getMobile() {
+		return mobile;
+	}
+
+	/**
+	 * Returns the unquoted value of the <code>Sec-CH-UA-Platform</code> header (for example "Windows"), or null if the
+	 * header was not present.
+	 */
+	public String getPlatform() {
+		return platform;
+	}
+
+	/**
+	 * Returns true if the <code>Sec-CH-UA</code> header contains the specified brand.
+	 */
+	public boolean hasBrand(String brand) {
+		return brandVersions.containsKey(brand);
+	}
+}
@@ -42,15 +42,7 @@ public class LiferayPortalBrowserSnifferImpl extends LiferayPortalBrowserSniffer
 
 	@Override
 	public String getBrowserId(HttpServletRequest request) {
-		if (isIe(request)) {
-			return BROWSER_ID_IE;
-		}
-		else if (isFirefox(request)) {
-			return BROWSER_ID_FIREFOX;
-		}
-		else {
-			return BROWSER_ID_OTHER;
-		}
+		return getBrowserId(getUserAgent(request));
 	}
 
 	@Override
@@ -67,8 +59,7 @@ public class LiferayPortalBrowserSnifferImpl extends LiferayPortalBrowserSniffer
 			return revision;
 		}
 
-		revision = parseVersion(
-			getUserAgent(request), revisionLeadings, revisionSeparators);
+		revision = getRevision(getUserAgent(request));
 
 		request.setAttribute(WebKeys.BROWSER_SNIFFER_REVISION, revision);
 
@@ -84,14 +75,7 @@ public class LiferayPortalBrowserSnifferImpl extends LiferayPortalBrowserSniffer
 			return version;
 		}
 
-		String userAgent = getUserAgent(request);
-
-		version = parseVersion(userAgent, versionLeadings, versionSeparators);
-
-		if (version.isEmpty()) {
-			version = parseVersion(
-				userAgent, revisionLeadings, revisionSeparators);
-		}
+		version = getVersion(getUserAgent(request));
 
 		request.setAttribute(WebKeys.BROWSER_SNIFFER_VERSION, version);
 
@@ -100,63 +84,27 @@ public class LiferayPortalBrowserSnifferImpl extends LiferayPortalBrowserSniffer
 
 	@Override
 	public boolean isAir(HttpServletRequest request) {
-		String userAgent = getUserAgent(request);
-
-		if (userAgent.contains("adobeair")) {
-			return true;
-		}
-
-		return false;
+		return isAir(getUserAgent(request));
 	}
 
 	@Override
 	public boolean isAndroid(HttpServletRequest request) {
-		String userAgent = getUserAgent(request);
-
-		if (userAgent.contains("android")) {
-			return true;
-		}
-
-		return false;
+		return isAndroid(getUserAgent(request));
 	}
 
 	@Override
 	public boolean isChrome(HttpServletRequest request) {
-		String userAgent = getUserAgent(request);
-
-		if (userAgent.contains("chrome")) {
-			return true;
-		}
-
-		return false;
+		return isChrome(getUserAgent(request));
 	}
 
 	@Override
 	public boolean isFirefox(HttpServletRequest request) {
-		if (!isMozilla(request)) {
-			return false;
-		}
-
-		String userAgent = getUserAgent(request);
-
-		for (String firefoxAlias : _FIREFOX_ALIASES) {
-			if (userAgent.contains(firefoxAlias)) {
-				return true;
-			}
-		}
-
-		return false;
+		return isFirefox(getUserAgent(request));
 	}
 
 	@Override
 	public boolean isGecko(HttpServletRequest request) {
-		String userAgent = getUserAgent(request);
-
-		if (userAgent.contains("gecko")) {
-			return true;
-		}
-
-		return false;
+		return isGecko(getUserAgent(request));
 	}
 
 	@Override
@@ -166,188 +114,67 @@ public class LiferayPortalBrowserSnifferImpl extends LiferayPortalBrowserSniffer
 
 	@Override
 	public boolean isIeOnWin32(HttpServletRequest request) {
-		String userAgent = getUserAgent(request);
-
-		if (isIe(userAgent) &&
-			!(userAgent.contains("wow64") || userAgent.contains("win64"))) {
-
-			return true;
-		}
-
-		return false;
+		return isIeOnWin32(getUserAgent(request));
 	}
 
 	@Override
 	public boolean isIeOnWin64(HttpServletRequest request) {
-		String userAgent = getUserAgent(request);
-
-		if (isIe(userAgent) &&
-			(userAgent.contains("wow64") || userAgent.contains("win64"))) {
-
-			return true;
-		}
-
-		return false;
+		return isIeOnWin64(getUserAgent(request));
 	}
 
 	@Override
 	public boolean isIphone(HttpServletRequest request) {
-		String userAgent = getUserAgent(request);
-
-		if (userAgent.contains("iphone")) {
-			return true;
-		}
-
-		return false;
+		return isIphone(getUserAgent(request));
 	}
 
 	@Override
 	public boolean isLinux(HttpServletRequest request) {
-		String userAgent = getUserAgent(request);
-
-		if (userAgent.contains("linux")) {
-			return true;
-		}
-
-		return false;
+		return isLinux(getUserAgent(request));
 	}
 
 	@Override
 	public boolean isMac(HttpServletRequest request) {
-		String userAgent = getUserAgent(request);
-
-		if (userAgent.contains("mac")) {
-			return true;
-		}
-
-		return false;
+		return isMac(getUserAgent(request));
 	}
 
 	@Override
 	public boolean isMobile(HttpServletRequest request) {
-		String userAgent = getUserAgent(request);
-
-		if (userAgent.contains("mobile") ||
-			(isAndroid(request) && userAgent.contains("nexus"))) {
-
-			return true;
-		}
-
-		return false;
+		return isMobile(getUserAgent(request));
 	}
 
 	@Override
 	public boolean isMozilla(HttpServletRequest request) {
-		String userAgent = getUserAgent(request);
-
-		if (userAgent.contains("mozilla") &&
-			!(userAgent.contains("compatible") ||
-			  userAgent.contains("webkit"))) {
-
-			return true;
-		}
-
-		return false;
+		return isMozilla(getUserAgent(request));
 	}
 
 	@Override
 	public boolean isOpera(HttpServletRequest request) {
-		String userAgent = getUserAgent(request);
-
-		if (userAgent.contains("opera")) {
-			return true;
-		}
-
-		return false;
+		return isOpera(getUserAgent(request));
 	}
 
 	@Override
 	public boolean isRtf(HttpServletRequest request) {
-		if (isAndroid(request)) {
-			return true;
-		}
-
-		if (isChrome(request)) {
-			return true;
-		}
-
-		float majorVersion = getMajorVersion(request);
-
-		if (isIe(request) && (majorVersion >= 5.5)) {
-			return true;
-		}
-
-		if (isMozilla(request) && (majorVersion >= 1.3)) {
-			return true;
-		}
-
-		if (isOpera(request)) {
-			if (isMobile(request) && (majorVersion >= 10.0)) {
-				return true;
-			}
-			else if (!isMobile(request)) {
-				return true;
-			}
-		}
-
-		if (isSafari(request)) {
-			if (isMobile(request) && (majorVersion >= 5.0)) {
-				return true;
-			}
-			else if (!isMobile(request) && (majorVersion >= 3.0)) {
-				return true;
-			}
-		}
-
-		return false;
+		return isRtf(getUserAgent(request));
 	}
 
 	@Override
 	public boolean isSafari(HttpServletRequest request) {
-		String userAgent = getUserAgent(request);
-
-		if (isWebKit(request) && userAgent.contains("safari")) {
-			return true;
-		}
-
-		return false;
+		return isSafari(getUserAgent(request));
 	}
 
 	@Override
 	public boolean isSun(HttpServletRequest request) {
-		String userAgent = getUserAgent(request);
-
-		if (userAgent.contains("sunos")) {
-			return true;
-		}
-
-		return false;
+		return isSun(getUserAgent(request));
 	}
 
 	@Override
 	public boolean isWebKit(HttpServletRequest request) {
-		String userAgent = getUserAgent(request);
-
-		for (String webKitAlias : _WEBKIT_ALIASES) {
-			if (userAgent.contains(webKitAlias)) {
-				return true;
-			}
-		}
-
-		return false;
+		return isWebKit(getUserAgent(request));
 	}
 
 	@Override
 	public boolean isWindows(HttpServletRequest request) {
-		String userAgent = getUserAgent(request);
-
-		for (String windowsAlias : _WINDOWS_ALIASES) {
-			if (userAgent.contains(windowsAlias)) {
-				return true;
-			}
-		}
-
-		return false;
+		return isWindows(getUserAgent(request));
 	}
 
 	protected static String parseVersion(
@@ -478,6 +305,84 @@ public class LiferayPortalBrowserSnifferImpl extends LiferayPortalBrowserSniffer
 		return userAgent;
 	}
 
+	protected String getBrowserId(String userAgent) {
+		if (isIe(userAgent)) {
+			return BROWSER_ID_IE;
+		}
+		else if (isFirefox(userAgent)) {
+			return BROWSER_ID_FIREFOX;
+		}
+		else {
+			return BROWSER_ID_OTHER;
+		}
+	}
+
+	protected float getMajorVersion(String userAgent) {
+		return GetterUtil.getFloat(getVersion(userAgent));
+	}
+
+	protected String getRevision(String userAgent) {
+		return parseVersion(userAgent, revisionLeadings, revisionSeparators);
+	}
+
+	protected String getVersion(String userAgent) {
+		String version = parseVersion(
+			userAgent, versionLeadings, versionSeparators);
+
+		if (version.isEmpty()) {
+			version = parseVersion(
+				userAgent, revisionLeadings, revisionSeparators);
+		}
+
+		return version;
+	}
+
+	protected boolean isAir(String userAgent) {
+		if (userAgent.contains("adobeair")) {
+			return true;
+		}
+
+		return false;
+	}
+
+	protected boolean isAndroid(String userAgent) {
+		if (userAgent.contains("android")) {
+			return true;
+		}
+
+		return false;
+	}
+
+	protected boolean isChrome(String userAgent) {
+		if (userAgent.contains("chrome")) {
+			return true;
+		}
+
+		return false;
+	}
+
+	protected boolean isFirefox(String userAgent) {
+		if (!isMozilla(userAgent)) {
+			return false;
+		}
+
+		for (String firefoxAlias : _FIREFOX_ALIASES) {
+			if (userAgent.contains(firefoxAlias)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	protected boolean isGecko(String userAgent) {
+		if (userAgent.contains("gecko")) {
+			return true;
+		}
+
+		return false;
+	}
+
 	protected boolean isIe(String userAgent) {
 		if (userAgent.contains("msie") && !userAgent.contains("opera")) {
 			return true;
@@ -486,6 +391,155 @@ public class LiferayPortalBrowserSnifferImpl extends LiferayPortalBrowserSniffer
 		return false;
 	}
 
+	protected boolean isIeOnWin32(String userAgent) {
+		if (isIe(userAgent) &&
+			!(userAgent.contains("wow64") || userAgent.contains("win64"))) {
+
+			return true;
+		}
+
+		return false;
+	}
+
+	protected boolean isIeOnWin64(String userAgent) {
+		if (isIe(userAgent) &&
+			(userAgent.contains("wow64") || userAgent.contains("win64"))) {
+
+			return true;
+		}
+
+		return false;
+	}
+
+	protected boolean isIphone(String userAgent) {
+		if (userAgent.contains("iphone")) {
+			return true;
+		}
+
+		return false;
+	}
+
+	protected boolean isLinux(String userAgent) {
+		if (userAgent.contains("linux")) {
+			return true;
+		}
+
+		return false;
+	}
+
+	protected boolean isMac(String userAgent) {
+		if (userAgent.contains("mac")) {
+			return true;
+		}
+
+		return false;
+	}
+
+	protected boolean isMobile(String userAgent) {
+		if (userAgent.contains("mobile") ||
+			(isAndroid(userAgent) && userAgent.contains("nexus"))) {
+
+			return true;
+		}
+
+		return false;
+	}
+
+	protected boolean isMozilla(String userAgent) {
+		if (userAgent.contains("mozilla") &&
+			!(userAgent.contains("compatible") ||
+			  userAgent.contains("webkit"))) {
+
+			return true;
+		}
+
+		return false;
+	}
+
+	protected boolean isOpera(String userAgent) {
+		if (userAgent.contains("opera")) {
+			return true;
+		}
+
+		return false;
+	}
+
+	protected boolean isRtf(String userAgent) {
+		if (isAndroid(userAgent)) {
+			return true;
+		}
+
+		if (isChrome(userAgent)) {
+			return true;
+		}
+
+		float majorVersion = getMajorVersion(userAgent);
+
+		if (isIe(userAgent) && (majorVersion >= 5.5)) {
+			return true;
+		}
+
+		if (isMozilla(userAgent) && (majorVersion >= 1.3)) {
+			return true;
+		}
+
+		if (isOpera(userAgent)) {
+			if (isMobile(userAgent) && (majorVersion >= 10.0)) {
+				return true;
+			}
+			else if (!isMobile(userAgent)) {
+				return true;
+			}
+		}
+
+		if (isSafari(userAgent)) {
+			if (isMobile(userAgent) && (majorVersion >= 5.0)) {
+				return true;
+			}
+			else if (!isMobile(userAgent) && (majorVersion >= 3.0)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	protected boolean isSafari(String userAgent) {
+		if (isWebKit(userAgent) && userAgent.contains("safari")) {
+			return true;
+		}
+
+		return false;
+	}
+
+	protected boolean isSun(String userAgent) {
+		if (userAgent.contains("sunos")) {
+			return true;
+		}
+
+		return false;
+	}
+
+	protected boolean isWebKit(String userAgent) {
+		for (String webKitAlias : _WEBKIT_ALIASES) {
+			if (userAgent.contains(webKitAlias)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	protected boolean isWindows(String userAgent) {
+		for (String windowsAlias : _WINDOWS_ALIASES) {
+			if (userAgent.contains(windowsAlias)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
 	protected static final String[] revisionLeadings = {"rv", "it", "ra", "ie"};
 	protected static final char[] revisionSeparators =
 		{CharPool.BACK_SLASH, CharPool.COLON, CharPool.SLASH, CharPool.SPACE};
@@ -17,13 +17,21 @@ package com.liferay.faces.util.client.internal;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
+import javax.faces.context.ExternalContext;
 import javax.faces.context.FacesContext;
 import javax.faces.context.ResponseWriter;
 
 import com.liferay.faces.util.client.Script;
 import com.liferay.faces.util.client.ScriptsEncoder;
+import com.liferay.faces.util.config.WebConfigParam;
+import com.liferay.faces.util.render.RendererUtil;
 
 
 /**
@@ -40,7 +48,7 @@ public class ScriptsEncoderImpl implements ScriptsEncoder, Serializable {
 		ResponseWriter responseWriter = facesContext.getResponseWriter();
 		responseWriter.startElement("script", null);
 		responseWriter.writeAttribute("type", "text/javascript", null);
-		encodeScripts(responseWriter, scripts);
+		encodeScripts(facesContext, responseWriter, scripts);
 		responseWriter.endElement("script");
 	}
 
@@ -48,13 +56,195 @@ public class ScriptsEncoderImpl implements ScriptsEncoder, Serializable {
 	public void encodeEvalScripts(FacesContext facesContext, List<Script> scripts) throws IOException {
 
 		ResponseWriter responseWriter = facesContext.getResponseWriter();
-		encodeScripts(responseWriter, scripts);
+		encodeScripts(facesContext, responseWriter, scripts);
 	}
 
-	private void encodeScripts(ResponseWriter responseWriter, List<Script> scripts) throws IOException {
+	/**
+	 * Returns the name of the callback parameter that is bound to the exports of the specified ES6 module when scripts
+	 * are batched. The name is the module ID in camel case with every character that is not valid in a JavaScript
+	 * identifier treated as a word separator (for example "metal-dom/src/dom" becomes "metalDomSrcDom").
+	 */
+	protected static String getModuleVariableName(String module) {
+
+		StringBuilder buf = new StringBuilder(module.length());
+		boolean upperCase = false;
+
+		for (int i = 0; i < module.length(); i++) {
+
+			char c = module.charAt(i);
+
+			if (Character.isJavaIdentifierPart(c)) {
+
+				if (upperCase && (buf.length() > 0)) {
+					buf.append(Character.toUpperCase(c));
+				}
+				else {
+					buf.append(c);
+				}
+
+				upperCase = false;
+			}
+			else {
+				upperCase = true;
+			}
+		}
+
+		if ((buf.length() == 0) || !Character.isJavaIdentifierStart(buf.charAt(0))) {
+			buf.insert(0, '_');
+		}
+
+		return buf.toString();
+	}
+
+	/**
+	 * Encodes the specified scripts in order. Each run of consecutive scripts with the same modules type is encoded
+	 * inside a single module loader call (that loads the union of the modules of the run) while scripts without a
+	 * modules type are written as they are, so that the relative order of all scripts is preserved.
+	 */
+	protected void encodeBatchedScripts(Writer writer, List<Script> scripts) throws IOException {
+
+		Script.ModulesType runModulesType = null;
+		Set<String> runModules = new LinkedHashSet<String>();
+		List<Script> runScripts = new ArrayList<Script>();
+
+		for (Script script : scripts) {
+
+			Script.ModulesType modulesType = script.getModulesType();
+
+			if ((modulesType != runModulesType) && !runScripts.isEmpty()) {
+
+				encodeModulesTypeScripts(writer, runModulesType, runModules, runScripts);
+				runModules.clear();
+				runScripts.clear();
+			}
+
+			runModulesType = modulesType;
+
+			if (modulesType == null) {
+				writeSourceCode(writer, script);
+			}
+			else {
+
+				runScripts.add(script);
+
+				String[] modules = script.getModules();
+
+				if (modules != null) {
+
+					for (String module : modules) {
+						runModules.add(module);
+					}
+				}
+			}
+		}
+
+		if (!runScripts.isEmpty()) {
+			encodeModulesTypeScripts(writer, runModulesType, runModules, runScripts);
+		}
+	}
+
+	/**
+	 * Encodes the specified scripts (which all have the specified modules type) inside a single module loader call
+	 * that loads the specified modules. The source code of each script is written in order. For {@link
+	 * Script.ModulesType#ES6}, the exports of each module are bound to the callback parameter named by {@link
+	 * #getModuleVariableName(String)}.
+	 */
+	protected void encodeModulesTypeScripts(Writer writer, Script.ModulesType modulesType, Set<String> modules,
+		List<Script> scripts) throws IOException {
+
+		if (modulesType == Script.ModulesType.ALLOY) {
+
+			writer.write("YUI().use(");
+
+			for (String module : modules) {
+				writeQuotedModule(writer, module);
+				writer.write(",");
+			}
+
+			writer.write("function(A){");
+		}
+		else {
+
+			writer.write("require([");
+
+			boolean first = true;
+
+			for (String module : modules) {
+
+				if (!first) {
+					writer.write(",");
+				}
+
+				writeQuotedModule(writer, module);
+				first = false;
+			}
+
+			writer.write("],function(");
+			first = true;
+
+			Set<String> variableNames = new HashSet<String>();
+
+			for (String module : modules) {
+
+				if (!first) {
+					writer.write(",");
+				}
+
+				// Distinct modules (such as "a-b" and "a/b") may have the same variable name, in which case the
+				// later parameters are made unique with a numeric suffix.
+				String variableName = getModuleVariableName(module);
+				String uniqueVariableName = variableName;
+
+				for (int i = 2; !variableNames.add(uniqueVariableName); i++) {
+					uniqueVariableName = variableName + i;
+				}
+
+				writer.write(uniqueVariableName);
+				first = false;
+			}
+
+			writer.write("){");
+		}
 
 		for (Script script : scripts) {
-			responseWriter.write(script.getSourceCode());
+			writeSourceCode(writer, script);
+			writer.write("\n");
+		}
+
+		writer.write("});");
+	}
+
+	private void encodeScripts(FacesContext facesContext, ResponseWriter responseWriter, List<Script> scripts)
+		throws IOException {
+
+		ExternalContext externalContext = facesContext.getExternalContext();
+
+		if (WebConfigParam.BatchScriptModules.getBooleanValue(externalContext)) {
+			encodeBatchedScripts(responseWriter, scripts);
+		}
+		else {
+
+			for (Script script : scripts) {
+				writeSourceCode(responseWriter, script);
+			}
+		}
+	}
+
+	private void writeQuotedModule(Writer writer, String module) throws IOException {
+
+		writer.write("'");
+		RendererUtil.escapeJavaScript(writer, module);
+		writer.write("'");
+	}
+
+	private void writeSourceCode(Writer writer, Script script) throws IOException {
+
+		// Buffered inline scripts are written directly from their buffer in order to avoid creating a String.
+		if (script instanceof SegmentedScript) {
+			((SegmentedScript) script).writeSourceCode(writer);
+		}
+		else {
+			writer.write(script.getSourceCode());
 		}
 	}
 }
@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) 2000-2018 Liferay, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.liferay.faces.util.client.internal;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.Writer;
+
+import com.liferay.faces.util.client.Script;
+import com.liferay.faces.util.internal.SegmentedCharBuffer;
+
+
+/**
+ * This class is a {@link Script} (without modules) whose source code is held in the {@link SegmentedCharBuffer} into
+ * which it was buffered, so that the source code can be written to the response without ever being converted to a
+ * {@link String}. The source code is only converted to a {@link String} if {@link #getSourceCode()} is called or if the
+ * script is serialized (in which case it is replaced by an equivalent {@link ScriptImpl}).
+ *
+ * @author  Kyle Stiemann
+ */
+public class SegmentedScript implements Script, Serializable {
+
+	// serialVersionUID
+	private static final long serialVersionUID = 2911454117426372520L;
+
+	// Private Data Members
+	private transient SegmentedCharBuffer sourceCodeBuffer;
+	private String sourceCode;
+
+	/**
+	 * Creates a script with the source code in the specified buffer. The buffer must not be modified afterwards.
+	 */
+	public SegmentedScript(SegmentedCharBuffer sourceCodeBuffer) {
+		this.sourceCodeBuffer = sourceCodeBuffer;
+	}
+
+	@Override
+	public String[] getModules() {
+		return null;
+	}
+
+	@Override
+	public ModulesType getModulesType() {
+		return null;
+	}
+
+	@Override
+	public String getSourceCode() {
+
+		if (sourceCode == null) {
+
+			sourceCode = sourceCodeBuffer.toString();
+			sourceCodeBuffer = null;
+		}
+
+		return sourceCode;
+	}
+
+	/**
+	 * Returns the same value as <code>getSourceCode().hashCode()</code> without converting the source code to a {@link
+	 * String}.
+	 */
+	public int getSourceCodeHashCode() {
+
+		if (sourceCode == null) {
+			return sourceCodeBuffer.contentHashCode();
+		}
+		else {
+			return sourceCode.hashCode();
+		}
+	}
+
+	/**
+	 * Returns the same value as <code>getSourceCode().length()</code> without converting the source code to a {@link
+	 * String}.
+	 */
+	public int getSourceCodeLength() {
+
+		if (sourceCode == null) {
+			return sourceCodeBuffer.length();
+		}
+		else {
+			return sourceCode.length();
+		}
+	}
+
+	/**
+	 * Writes the source code of this script to the specified writer.
+	 */
+	public void writeSourceCode(Writer writer) throws IOException {
+
+		if (sourceCode == null) {
+			sourceCodeBuffer.writeTo(writer);
+		}
+		else {
+			writer.write(sourceCode);
+		}
+	}
+
+	private Object writeReplace() {
+		return new ScriptImpl(getSourceCode());
+	}
+}
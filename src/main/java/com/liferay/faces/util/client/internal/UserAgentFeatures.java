@@ -0,0 +1,384 @@
+/**
+ * Copyright (c) 2000-2018 Liferay, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.liferay.faces.util.client.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+
+/**
+ * This class scans a (lowercase) User-Agent string for all of the tokens used by {@link
+ * LiferayPortalBrowserSnifferImpl} in a single pass. The tokens are compiled into an Aho-Corasick automaton (with the
+ * failure links folded into a deterministic transition table) so that each character of the User-Agent costs one table
+ * lookup regardless of the number of tokens. The result of a scan is a bitset of matched tokens and the start positions
+ * of the tokens that precede versions and revisions, which is everything needed to compute a {@link BrowserProfile}
+ * without scanning the User-Agent again.
+ *
+ * @author  Kyle Stiemann
+ */
+final class UserAgentFeatures {
+
+	// Package-Private Constants (token ids, which are also the bit positions in the bitset of matched tokens)
+	static final int ADOBEAIR = 0;
+	static final int ANDROID = 1;
+	static final int APPLEWEBKIT = 2;
+	static final int BONECHO = 3;
+	static final int CAMINO = 4;
+	static final int CHROME = 5;
+	static final int COMPATIBLE = 6;
+	static final int FIREBIRD = 7;
+	static final int FIREFOX = 8;
+	static final int GECKO = 9;
+	static final int GRANPARADISO = 10;
+	static final int IE = 11;
+	static final int IPAD = 12;
+	static final int IPHONE = 13;
+	static final int IT = 14;
+	static final int KHTML = 15;
+	static final int LINUX = 16;
+	static final int MAC = 17;
+	static final int MINEFIELD = 18;
+	static final int MOBILE = 19;
+	static final int MOZILLA = 20;
+	static final int MSIE = 21;
+	static final int NEXUS = 22;
+	static final int OPERA = 23;
+	static final int PHOENIX = 24;
+	static final int RA = 25;
+	static final int RV = 26;
+	static final int SAFARI = 27;
+	static final int SIXTEEN_BIT = 28;
+	static final int SUNOS = 29;
+	static final int VERSION = 30;
+	static final int WEBKIT = 31;
+	static final int WIN32 = 32;
+	static final int WIN64 = 33;
+	static final int WINDOWS = 34;
+	static final int WOW64 = 35;
+	static final int[] REVISION_LEADINGS = { RV, IT, RA, IE };
+	static final int[] VERSION_LEADINGS = { VERSION, FIREFOX, MINEFIELD, CHROME };
+
+	// Private Constants
+	private static final String[] TOKENS = {
+			"adobeair", "android", "applewebkit", "bonecho", "camino", "chrome", "compatible", "firebird", "firefox",
+			"gecko", "granparadiso", "ie", "ipad", "iphone", "it", "khtml", "linux", "mac", "minefield", "mobile",
+			"mozilla", "msie", "nexus", "opera", "phoenix", "ra", "rv", "safari", "16bit", "sunos", "version", "webkit",
+			"win32", "win64", "windows", "wow64"
+		};
+	private static final long POSITIONAL_TOKENS = bits(REVISION_LEADINGS) | bits(VERSION_LEADINGS);
+
+	// The automaton. Characters that do not occur in any token share character class 0.
+	private static final int ALPHABET_SIZE;
+	private static final byte[] CHAR_CLASSES = new byte[128];
+	private static final long[] OUTPUTS;
+	private static final int[] TRANSITIONS;
+
+	static {
+
+		// Assign a character class to each character that occurs in a token.
+		int alphabetSize = 1;
+
+		for (String token : TOKENS) {
+
+			for (int i = 0; i < token.length(); i++) {
+
+				char c = token.charAt(i);
+
+				if (CHAR_CLASSES[c] == 0) {
+					CHAR_CLASSES[c] = (byte) alphabetSize++;
+				}
+			}
+		}
+
+		ALPHABET_SIZE = alphabetSize;
+
+		// Build the trie.
+		List<int[]> gotoFunction = new ArrayList<int[]>();
+		List<Long> outputs = new ArrayList<Long>();
+		gotoFunction.add(newStateTransitions(alphabetSize));
+		outputs.add(0L);
+
+		for (int tokenId = 0; tokenId < TOKENS.length; tokenId++) {
+
+			String token = TOKENS[tokenId];
+			int state = 0;
+
+			for (int i = 0; i < token.length(); i++) {
+
+				int charClass = CHAR_CLASSES[token.charAt(i)];
+				int nextState = gotoFunction.get(state)[charClass];
+
+				if (nextState < 0) {
+
+					nextState = gotoFunction.size();
+					gotoFunction.get(state)[charClass] = nextState;
+					gotoFunction.add(newStateTransitions(alphabetSize));
+					outputs.add(0L);
+				}
+
+				state = nextState;
+			}
+
+			outputs.set(state, outputs.get(state) | (1L << tokenId));
+		}
+
+		// Compute the failure links breadth-first and fold them into the transitions so that the automaton becomes
+		// deterministic. The outputs of each state include the outputs of the state that its failure link points to.
+		int stateCount = gotoFunction.size();
+		int[] failures = new int[stateCount];
+		LinkedList<Integer> queue = new LinkedList<Integer>();
+		int[] rootTransitions = gotoFunction.get(0);
+
+		for (int charClass = 0; charClass < alphabetSize; charClass++) {
+
+			if (rootTransitions[charClass] < 0) {
+				rootTransitions[charClass] = 0;
+			}
+			else {
+				queue.add(rootTransitions[charClass]);
+			}
+		}
+
+		while (!queue.isEmpty()) {
+
+			int state = queue.removeFirst();
+			int[] stateTransitions = gotoFunction.get(state);
+			int[] failureTransitions = gotoFunction.get(failures[state]);
+
+			for (int charClass = 0; charClass < alphabetSize; charClass++) {
+
+				int nextState = stateTransitions[charClass];
+
+				if (nextState < 0) {
+					stateTransitions[charClass] = failureTransitions[charClass];
+				}
+				else {
+
+					failures[nextState] = failureTransitions[charClass];
+					outputs.set(nextState, outputs.get(nextState) | outputs.get(failures[nextState]));
+					queue.add(nextState);
+				}
+			}
+		}
+
+		TRANSITIONS = new int[stateCount * alphabetSize];
+		OUTPUTS = new long[stateCount];
+
+		for (int state = 0; state < stateCount; state++) {
+
+			System.arraycopy(gotoFunction.get(state), 0, TRANSITIONS, state * alphabetSize, alphabetSize);
+			OUTPUTS[state] = outputs.get(state);
+		}
+	}
+
+	// Private Final Data Members
+	private final int[] positionCounts;
+	private final int[][] positions;
+	private final long tokens;
+	private final String userAgent;
+
+	private UserAgentFeatures(String userAgent) {
+
+		this.userAgent = userAgent;
+		this.positionCounts = new int[TOKENS.length];
+		this.positions = new int[TOKENS.length][];
+
+		long tokens = 0L;
+		int state = 0;
+		int length = userAgent.length();
+
+		for (int i = 0; i < length; i++) {
+
+			char c = userAgent.charAt(i);
+			int charClass = (c < 128) ? CHAR_CLASSES[c] : 0;
+			state = TRANSITIONS[(state * ALPHABET_SIZE) + charClass];
+
+			long output = OUTPUTS[state];
+
+			if (output != 0L) {
+
+				tokens |= output;
+
+				long positionalOutput = output & POSITIONAL_TOKENS;
+
+				while (positionalOutput != 0L) {
+
+					int tokenId = Long.numberOfTrailingZeros(positionalOutput);
+					positionalOutput &= positionalOutput - 1;
+					addPosition(tokenId, i - TOKENS[tokenId].length() + 1);
+				}
+			}
+		}
+
+		this.tokens = tokens;
+	}
+
+	/**
+	 * Scans the specified lowercase User-Agent string.
+	 */
+	static UserAgentFeatures scan(String userAgent) {
+		return new UserAgentFeatures(userAgent);
+	}
+
+	private static long bits(int[] tokenIds) {
+
+		long bits = 0L;
+
+		for (int tokenId : tokenIds) {
+			bits |= 1L << tokenId;
+		}
+
+		return bits;
+	}
+
+	private static int[] newStateTransitions(int alphabetSize) {
+
+		int[] stateTransitions = new int[alphabetSize];
+		Arrays.fill(stateTransitions, -1);
+
+		return stateTransitions;
+	}
+
+	/**
+	 * Returns true if the User-Agent contains the specified token.
+	 */
+	boolean contains(int tokenId) {
+		return (tokens & (1L << tokenId)) != 0L;
+	}
+
+	/**
+	 * Returns true if the User-Agent contains any of the specified tokens.
+	 */
+	boolean containsAny(int... tokenIds) {
+		return (tokens & bits(tokenIds)) != 0L;
+	}
+
+	/**
+	 * Returns the same result as {@link LiferayPortalBrowserSnifferImpl#parseVersion(String, String[], char[])} would
+	 * for the corresponding leading strings, but uses the token positions recorded during the scan rather than
+	 * searching the User-Agent for each leading string.
+	 */
+	String parseVersion(int[] leadingTokenIds, char[] separators) {
+
+		leading:
+		for (int leadingTokenId : leadingTokenIds) {
+
+			int leadingLength = TOKENS[leadingTokenId].length();
+			int[] leadingPositions = positions[leadingTokenId];
+			int positionCount = positionCounts[leadingTokenId];
+			int searchFrom = 0;
+			int index = -1;
+
+			for (int i = 0; i < positionCount; i++) {
+
+				int position = leadingPositions[i];
+
+				// Mimic String.indexOf(leading, fromIndex) which skips occurrences that start before fromIndex.
+				if (position < searchFrom) {
+					continue;
+				}
+
+				index = position + leadingLength;
+
+				if ((index + 2) > userAgent.length()) {
+					continue leading;
+				}
+
+				char c1 = userAgent.charAt(index);
+				char c2 = userAgent.charAt(++index);
+
+				if (((c2 >= '0') && (c2 <= '9')) || (c2 == '.')) {
+
+					for (char separator : separators) {
+
+						if (c1 == separator) {
+							return parseVersion(index);
+						}
+					}
+				}
+
+				searchFrom = index;
+			}
+		}
+
+		return "";
+	}
+
+	private void addPosition(int tokenId, int position) {
+
+		int[] tokenPositions = positions[tokenId];
+		int positionCount = positionCounts[tokenId];
+
+		if (tokenPositions == null) {
+			tokenPositions = new int[4];
+			positions[tokenId] = tokenPositions;
+		}
+		else if (positionCount == tokenPositions.length) {
+			tokenPositions = Arrays.copyOf(tokenPositions, positionCount * 2);
+			positions[tokenId] = tokenPositions;
+		}
+
+		tokenPositions[positionCount] = position;
+		positionCounts[tokenId] = positionCount + 1;
+	}
+
+	private String parseVersion(int index) {
+
+		// Major
+
+		int majorStart = index;
+		int majorEnd = index + 1;
+
+		for (int i = majorStart; i < userAgent.length(); i++) {
+
+			char c = userAgent.charAt(i);
+
+			if ((c < '0') || (c > '9')) {
+				majorEnd = i;
+
+				break;
+			}
+		}
+
+		String major = userAgent.substring(majorStart, majorEnd);
+
+		if (userAgent.charAt(majorEnd) != '.') {
+			return major;
+		}
+
+		// Minor
+
+		int minorStart = majorEnd + 1;
+		int minorEnd = userAgent.length();
+
+		for (int i = minorStart; i < userAgent.length(); i++) {
+
+			char c = userAgent.charAt(i);
+
+			if ((c < '0') || (c > '9')) {
+				minorEnd = i;
+
+				break;
+			}
+		}
+
+		String minor = userAgent.substring(minorStart, minorEnd);
+
+		return major.concat(".").concat(minor);
+	}
+}
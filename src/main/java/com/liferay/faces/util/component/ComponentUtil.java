@@ -30,10 +30,6 @@ import javax.faces.context.FacesContext;
  */
 public class ComponentUtil {
 
-	// Private Constants
-	private static final String DOUBLE_BACKSLASH_COLON = "\\\\\\\\:";
-	private static final String REGEX_COLON = "[:]";
-
 	public static String concatCssClasses(String... classNames) {
 
 		StringBuilder cssClassBuilder = new StringBuilder();
@@ -68,7 +64,27 @@ public class ComponentUtil {
 
 			// JSF clientId values contain colons, which must be preceeded by double backslashes in order to have them
 			// work with JavaScript functions like AUI.one(String). http://yuilibrary.com/projects/yui3/ticket/2528057
-			escapedClientId = escapedClientId.replaceAll(REGEX_COLON, DOUBLE_BACKSLASH_COLON);
+			// Since client ids are escaped while rendering (often once per row of a UIData), the colons are found with
+			// a single scan rather than with a regular expression, and a client id without colons is returned as is.
+			int colonIndex = escapedClientId.indexOf(':');
+
+			if (colonIndex >= 0) {
+
+				int length = clientId.length();
+				StringBuilder buf = new StringBuilder(length + 8);
+				int start = 0;
+
+				while (colonIndex >= 0) {
+
+					buf.append(clientId, start, colonIndex);
+					buf.append("\\\\:");
+					start = colonIndex + 1;
+					colonIndex = clientId.indexOf(':', start);
+				}
+
+				buf.append(clientId, start, length);
+				escapedClientId = buf.toString();
+			}
 		}
 
 		return escapedClientId;
@@ -34,4 +34,9 @@ public interface FacesConfig {
 	public List<String> getConfiguredSuffixes();
 
 	public List<ConfiguredSystemEventListener> getConfiguredSystemEventListeners();
+
+	/**
+	 * Returns a compiled matcher for the servlet-mappings returned by {@link #getConfiguredFacesServletMappings()}.
+	 */
+	public FacesServletMappingMatcher getFacesServletMappingMatcher();
 }
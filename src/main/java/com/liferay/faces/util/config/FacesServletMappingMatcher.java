@@ -0,0 +1,54 @@
+/**
+ * Copyright (c) 2000-2018 Liferay, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.liferay.faces.util.config;
+
+/**
+ * This interface provides a compiled, immutable representation of the FacesServlet servlet-mapping entries returned by
+ * {@link FacesConfig#getConfiguredFacesServletMappings()}. Paths are matched according to the precedence rules of the
+ * Servlet specification (exact match, then longest path-prefix match, then extension match, then default match) in
+ * time proportional to the length of the path and without creating any objects.
+ *
+ * @author  Kyle Stiemann
+ */
+public interface FacesServletMappingMatcher {
+
+	/**
+	 * Returns the FacesServlet servlet-mapping that matches the specified context-relative <code>path</code> (the
+	 * servlet-path plus the path-info of a request), or null if the path is not mapped to the FacesServlet.
+	 *
+	 * @param  path  The context-relative path of the request.
+	 */
+	public ConfiguredServletMapping getServletMapping(String path);
+
+	/**
+	 * Returns the viewId associated with the specified context-relative <code>path</code>, or null if the path is not
+	 * mapped to the FacesServlet or does not identify a view. For path-mapped servlet-mappings (like /faces/*) the
+	 * viewId is the path-info of the path, which is the only case that requires a new string. Since a path that is
+	 * equal to the servlet-path of a path-mapped servlet-mapping (like /faces) has no path-info, it does not identify a
+	 * view and null is returned even though {@link #isFacesMapped(String)} returns true. For all other servlet-mappings
+	 * the specified path is returned as-is.
+	 *
+	 * @param  path  The context-relative path of the request.
+	 */
+	public String getViewId(String path);
+
+	/**
+	 * Flag indicating whether or not the specified context-relative <code>path</code> is mapped to the FacesServlet.
+	 *
+	 * @param  path  The context-relative path of the request.
+	 */
+	public boolean isFacesMapped(String path);
+}
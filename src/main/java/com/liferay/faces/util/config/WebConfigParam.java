@@ -17,6 +17,8 @@ package com.liferay.faces.util.config;
 
 import javax.faces.context.ExternalContext;
 
+import com.liferay.faces.util.client.ScriptsEncoder;
+import com.liferay.faces.util.context.FacesContextHelper;
 import com.liferay.faces.util.helper.BooleanHelper;
 import com.liferay.faces.util.i18n.I18n;
 
@@ -27,8 +29,51 @@ import com.liferay.faces.util.i18n.I18n;
 public enum WebConfigParam implements ConfigParam<ExternalContext> {
 
 	/**
-	 * Integer indicating the initial cache capacity for the message cache used by the i18n EL utility. The default
-	 * value of this param is 16. For more details, see {@link
+	 * Boolean indicating whether or not the {@link ScriptsEncoder} should group each run of consecutive scripts with
+	 * the same {@link com.liferay.faces.util.client.Script.ModulesType} and emit a single module loader call (with the
+	 * union of the modules of the run) per run rather than relying on each script to load its own modules. All scripts
+	 * run in the order in which they were added. Batched ALLOY scripts can access the YUI instance as <code>A</code>
+	 * and batched ES6 scripts can access the exports of each module via a callback parameter named after the module
+	 * ID in camel case (for example <code>metalDomSrcDom</code> for "metal-dom/src/dom"). The default value of this
+	 * param is false.
+	 */
+	BatchScriptModules(ScriptsEncoder.class.getName() + ".BATCH_MODULES", "false"),
+
+	/**
+	 * Boolean indicating whether or not scripts that are added (during a single request) via {@link
+	 * com.liferay.faces.util.context.FacesContextHelper#addScript(javax.faces.context.FacesContext,
+	 * com.liferay.faces.util.client.Script)} should be ignored if an identical script (same source code, modules and
+	 * modules type) has already been added. This is useful when repeated components (for example a tooltip in every
+	 * row of a table) add identical initialization scripts. The default value of this param is false.
+	 */
+	DeduplicateScripts(FacesContextHelper.class.getName() + ".DEDUPLICATE_SCRIPTS", "false"),
+
+	/**
+	 * Boolean indicating whether or not static body scripts (scripts with source code that has already been rendered
+	 * by a previous request) should be combined into content-addressed JavaScript resources (referenced by
+	 * <code>&lt;script src="..."&gt;</code>) that browsers can cache indefinitely, rather than being rendered inline
+	 * before the closing <code>&lt;body&gt;</code> tag of every page. Since a static script may still contain data that
+	 * is specific to a user, the resources are marked as private so that shared caches (such as proxies and CDNs) do
+	 * not store them. A combination of static scripts is only externalized once it has been rendered more than once, so
+	 * that one-off combinations do not churn the cache (see {@link #ExternalizedBodyScriptsMaxCacheCapacity}). Scripts
+	 * that contain per-request dynamic data remain inline and all scripts are executed in the order in which they were
+	 * added. The default value of this param is false.
+	 */
+	ExternalizeBodyScripts(ScriptsEncoder.class.getName() + ".EXTERNALIZE_BODY_SCRIPTS", "false"),
+
+	/**
+	 * Integer indicating the maximum number of combined scripts that are cached (in the application scope) in order to
+	 * be served as resources when {@link #ExternalizeBodyScripts} is enabled. A page that refers to a combined script
+	 * which has been evicted from the cache will be missing its scripts, so this value should be larger than the number
+	 * of distinct combinations of static scripts that are rendered by the application. The default value of this param
+	 * is 1024.
+	 */
+	ExternalizedBodyScriptsMaxCacheCapacity(ScriptsEncoder.class.getName() +
+		".EXTERNALIZED_BODY_SCRIPTS_MAX_CACHE_CAPACITY", 1024),
+
+	/**
+	 * Integer indicating the initial cache capacity for the message cache (of each locale) used by the i18n EL utility.
+	 * The default value of this param is 16. For more details, see {@link
 	 * com.liferay.faces.util.cache.CacheFactory#getConcurrentCache(int)} and {@link java.util.HashMap#HashMap()}.
 	 *
 	 * @since  1.1
@@ -50,10 +95,11 @@ public enum WebConfigParam implements ConfigParam<ExternalContext> {
 	I18nInitialCacheCapacity(I18n.class.getName() + ".INITIAL_CACHE_CAPACITY", 16),
 
 	/**
-	 * Integer indicating the default maximum cache capacity for the message cache used by the i18n EL utility. The
-	 * default value of this param is -1 which indicates that no maximum capacity should be enforced (in other words,
-	 * the cache will be obtained via {@link com.liferay.faces.util.cache.CacheFactory#getConcurrentCache(int)}).
-	 * Otherwise, an LRU cache with the specified maximum capacity will be obtained via {@link
+	 * Integer indicating the default maximum cache capacity for the message cache (of each locale) used by the i18n EL
+	 * utility. The default value of this param is -1 which indicates that no maximum capacity should be enforced (in
+	 * other words, the cache will be obtained via {@link
+	 * com.liferay.faces.util.cache.CacheFactory#getConcurrentCache(int)}). Otherwise, an LRU cache with the specified
+	 * maximum capacity will be obtained via {@link
 	 * com.liferay.faces.util.cache.CacheFactory#getConcurrentLRUCache(int, int)}.
 	 *
 	 * @since  1.1
@@ -63,9 +109,10 @@ public enum WebConfigParam implements ConfigParam<ExternalContext> {
 	I18nELMapMaxCacheCapacity("com.liferay.faces.util.el.i18n.MAX_CACHE_CAPACITY", -1),
 
 	/**
-	 * Integer indicating the maximum cache capacity for the resource bundle cache used by the {@link I18n} utility. The
-	 * default value of this param is -1 which indicates that no maximum capacity should be enforced (in other words,
-	 * the cache will be obtained via {@link com.liferay.faces.util.cache.CacheFactory#getConcurrentCache(int)}).
+	 * Integer indicating the maximum cache capacity for the resource bundle cache (of each locale) used by the {@link
+	 * I18n} utility. The default value of this param is -1 which indicates that no maximum capacity should be enforced
+	 * (in other words, the cache will be obtained via {@link
+	 * com.liferay.faces.util.cache.CacheFactory#getConcurrentCache(int)}).
 	 * Otherwise, an LRU cache with the specified maximum capacity will be obtained via {@link
 	 * com.liferay.faces.util.cache.CacheFactory#getConcurrentLRUCache(int, int)}.
 	 *
@@ -75,6 +122,22 @@ public enum WebConfigParam implements ConfigParam<ExternalContext> {
 	 */
 	I18nMaxCacheCapacity(I18n.class.getName() + ".MAX_CACHE_CAPACITY", -1),
 
+	/**
+	 * Boolean indicating whether or not the i18n resource bundles should be loaded and the i18n message caches should
+	 * be populated (in parallel) during application startup for the default locale and each locale specified by
+	 * <code>&lt;supported-locale&gt;</code> in faces-config.xml. Enabling this param increases startup time in order to
+	 * avoid slow first requests in each locale. The default value of this param is false.
+	 */
+	I18nWarmUp(I18n.class.getName() + ".WARM_UP", "false"),
+
+	/**
+	 * Absolute path to a directory (folder) in which the information of detected products (see {@link
+	 * com.liferay.faces.util.product.ProductFactory}) should be cached across restarts. The cached information is
+	 * discarded whenever the jars in the classpath change. The default value of this param is null which indicates
+	 * that product information should not be cached.
+	 */
+	ProductCacheDir("com.liferay.faces.util.product.CACHE_DIR", null),
+
 	/** Boolean indicating whether or not XML entities should be resolved */
 	ResolveXMLEntities("com.liferay.faces.util.resolveXMLEntities", "com.liferay.faces.bridge.resolveXMLEntities",
 		false),
@@ -23,6 +23,7 @@ import com.liferay.faces.util.config.ConfiguredManagedBean;
 import com.liferay.faces.util.config.ConfiguredServletMapping;
 import com.liferay.faces.util.config.ConfiguredSystemEventListener;
 import com.liferay.faces.util.config.FacesConfig;
+import com.liferay.faces.util.config.FacesServletMappingMatcher;
 
 
 /**
@@ -37,21 +38,17 @@ public class FacesConfigImpl implements FacesConfig {
 	private List<ConfiguredManagedBean> configuredManagedBeans;
 	private List<String> configuredSuffixes;
 	private List<ConfiguredSystemEventListener> configuredSystemEventListeners;
+	private FacesServletMappingMatcher facesServletMappingMatcher;
 
 	public FacesConfigImpl() {
-		this.configuredApplicationExtensions = new ArrayList<ConfiguredElement>();
-		this.configuredFacesServletMappings = new ArrayList<ConfiguredServletMapping>();
-		this.configuredFactoryExtensions = new ArrayList<ConfiguredElement>();
-		this.configuredManagedBeans = new ArrayList<ConfiguredManagedBean>();
-		this.configuredSuffixes = new ArrayList<String>();
-		this.configuredSystemEventListeners = new ArrayList<ConfiguredSystemEventListener>();
+		this(new ArrayList<ConfiguredServletMapping>(), new ArrayList<String>());
 	}
 
 	public FacesConfigImpl(List<ConfiguredServletMapping> configuredFacesServletMappings,
 		List<String> configuredSuffixes) {
-		this();
-		this.configuredFacesServletMappings = configuredFacesServletMappings;
-		this.configuredSuffixes = configuredSuffixes;
+		this(new ArrayList<ConfiguredElement>(), new ArrayList<ConfiguredElement>(), configuredFacesServletMappings,
+				new ArrayList<ConfiguredManagedBean>(), configuredSuffixes,
+				new ArrayList<ConfiguredSystemEventListener>());
 	}
 
 	public FacesConfigImpl(List<ConfiguredElement> configuredApplicationExtensions,
@@ -66,6 +63,7 @@ public class FacesConfigImpl implements FacesConfig {
 		this.configuredFactoryExtensions = configuredFactoryExtensions;
 		this.configuredManagedBeans = configuredManagedBeans;
 		this.configuredSystemEventListeners = configuredSystemEventListeners;
+		this.facesServletMappingMatcher = new FacesServletMappingMatcherImpl(configuredFacesServletMappings);
 	}
 
 	public List<ConfiguredElement> getConfiguredApplicationExtensions() {
@@ -91,4 +89,8 @@ public class FacesConfigImpl implements FacesConfig {
 	public List<ConfiguredSystemEventListener> getConfiguredSystemEventListeners() {
 		return configuredSystemEventListeners;
 	}
+
+	public FacesServletMappingMatcher getFacesServletMappingMatcher() {
+		return facesServletMappingMatcher;
+	}
 }
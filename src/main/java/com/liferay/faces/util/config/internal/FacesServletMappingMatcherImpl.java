@@ -0,0 +1,304 @@
+/**
+ * Copyright (c) 2000-2018 Liferay, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.liferay.faces.util.config.internal;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.liferay.faces.util.config.ConfiguredServletMapping;
+import com.liferay.faces.util.config.FacesServletMappingMatcher;
+
+
+/**
+ * This class compiles a list of servlet-mappings into an exact-match map, a longest-prefix trie of path-mapped
+ * url-patterns and an open-addressing hash table of extensions. All of the data structures are built in the constructor
+ * and never modified afterwards, so instances of this class are immutable and may be shared between threads.
+ *
+ * @author  Kyle Stiemann
+ */
+public class FacesServletMappingMatcherImpl implements FacesServletMappingMatcher {
+
+	// Private Constants
+	private static final String DEFAULT_URL_PATTERN = "/";
+
+	// Private Final Data Members
+	private final ConfiguredServletMapping defaultServletMapping;
+	private final Map<String, ConfiguredServletMapping> exactServletMappings;
+	private final String[] extensions;
+	private final ConfiguredServletMapping[] extensionServletMappings;
+	private final PrefixNode prefixTrie;
+
+	public FacesServletMappingMatcherImpl(List<ConfiguredServletMapping> configuredServletMappings) {
+
+		ConfiguredServletMapping defaultServletMapping = null;
+		Map<String, ConfiguredServletMapping> exactServletMappings = new HashMap<String, ConfiguredServletMapping>();
+		Map<String, ConfiguredServletMapping> extensionServletMappings =
+			new HashMap<String, ConfiguredServletMapping>();
+		PrefixNode prefixTrie = new PrefixNode();
+
+		if (configuredServletMappings != null) {
+
+			for (ConfiguredServletMapping configuredServletMapping : configuredServletMappings) {
+
+				String urlPattern = configuredServletMapping.getUrlPattern();
+
+				if (urlPattern == null) {
+					continue;
+				}
+
+				// According to the Servlet specification, the first servlet-mapping for a url-pattern wins.
+				if (configuredServletMapping.isExtensionMapped()) {
+
+					String extension = configuredServletMapping.getExtension();
+
+					if (!extensionServletMappings.containsKey(extension)) {
+						extensionServletMappings.put(extension, configuredServletMapping);
+					}
+				}
+				else if (DEFAULT_URL_PATTERN.equals(urlPattern)) {
+
+					if (defaultServletMapping == null) {
+						defaultServletMapping = configuredServletMapping;
+					}
+				}
+				else if (isPrefixMapped(configuredServletMapping)) {
+					prefixTrie.add(configuredServletMapping.getServletPath(), configuredServletMapping);
+				}
+				else if (configuredServletMapping.isPathMapped()) {
+
+					if (!exactServletMappings.containsKey(urlPattern)) {
+						exactServletMappings.put(urlPattern, configuredServletMapping);
+					}
+				}
+			}
+		}
+
+		this.defaultServletMapping = defaultServletMapping;
+		this.exactServletMappings = exactServletMappings;
+		this.prefixTrie = prefixTrie;
+
+		// Size the extension table to a power of two that is at least twice the number of extensions so that linear
+		// probing always terminates at an empty slot.
+		int tableSize = 2;
+
+		while (tableSize < (extensionServletMappings.size() * 2)) {
+			tableSize = tableSize << 1;
+		}
+
+		this.extensions = new String[tableSize];
+		this.extensionServletMappings = new ConfiguredServletMapping[tableSize];
+
+		for (Map.Entry<String, ConfiguredServletMapping> entry : extensionServletMappings.entrySet()) {
+
+			String extension = entry.getKey();
+			int index = extension.hashCode() & (tableSize - 1);
+
+			while (this.extensions[index] != null) {
+				index = (index + 1) & (tableSize - 1);
+			}
+
+			this.extensions[index] = extension;
+			this.extensionServletMappings[index] = entry.getValue();
+		}
+	}
+
+	private static boolean isPrefixMapped(ConfiguredServletMapping configuredServletMapping) {
+		return configuredServletMapping.isPathMapped() && configuredServletMapping.getUrlPattern().endsWith("/*");
+	}
+
+	@Override
+	public ConfiguredServletMapping getServletMapping(String path) {
+
+		if (path == null) {
+			return null;
+		}
+
+		ConfiguredServletMapping servletMapping = exactServletMappings.get(path);
+
+		if (servletMapping == null) {
+			servletMapping = prefixTrie.getLongestPrefixMatch(path);
+		}
+
+		if (servletMapping == null) {
+			servletMapping = getExtensionServletMapping(path);
+		}
+
+		if (servletMapping == null) {
+			servletMapping = defaultServletMapping;
+		}
+
+		return servletMapping;
+	}
+
+	@Override
+	public String getViewId(String path) {
+
+		ConfiguredServletMapping servletMapping = getServletMapping(path);
+		String viewId = null;
+
+		if (servletMapping != null) {
+
+			// If the path matched a path-mapped url-pattern (like /faces/*), then the viewId is the path-info that
+			// follows the servlet-path.
+			if (isPrefixMapped(servletMapping)) {
+
+				int servletPathLength = servletMapping.getServletPath().length();
+
+				if (path.length() > servletPathLength) {
+					viewId = path.substring(servletPathLength);
+				}
+			}
+
+			// Otherwise, the viewId is the path itself.
+			else {
+				viewId = path;
+			}
+		}
+
+		return viewId;
+	}
+
+	@Override
+	public boolean isFacesMapped(String path) {
+		return getServletMapping(path) != null;
+	}
+
+	private ConfiguredServletMapping getExtensionServletMapping(String path) {
+
+		// According to the Servlet specification, the extension is everything after the last '.' of the last path
+		// segment. Compute the String.hashCode() of the extension in the same pass that locates it.
+		int pathLength = path.length();
+		int extensionIndex = -1;
+
+		for (int i = pathLength - 1; i >= 0; i--) {
+
+			char c = path.charAt(i);
+
+			if (c == '.') {
+				extensionIndex = i;
+
+				break;
+			}
+			else if (c == '/') {
+				break;
+			}
+		}
+
+		if (extensionIndex < 0) {
+			return null;
+		}
+
+		int hash = 0;
+
+		for (int i = extensionIndex; i < pathLength; i++) {
+			hash = (31 * hash) + path.charAt(i);
+		}
+
+		int extensionLength = pathLength - extensionIndex;
+		int mask = extensions.length - 1;
+		int index = hash & mask;
+		String extension;
+
+		while ((extension = extensions[index]) != null) {
+
+			if ((extension.length() == extensionLength) &&
+					path.regionMatches(extensionIndex, extension, 0, extensionLength)) {
+				return extensionServletMappings[index];
+			}
+
+			index = (index + 1) & mask;
+		}
+
+		return null;
+	}
+
+	/**
+	 * Node of a character trie. The children of each node are kept in a sorted array so that lookups can be performed
+	 * with a binary search and without boxing characters.
+	 */
+	private static final class PrefixNode {
+
+		// Private Data Members
+		private PrefixNode[] children = new PrefixNode[0];
+		private char[] keys = new char[0];
+		private ConfiguredServletMapping servletMapping;
+
+		public void add(String servletPath, ConfiguredServletMapping servletMapping) {
+
+			PrefixNode node = this;
+
+			for (int i = 0; i < servletPath.length(); i++) {
+
+				char c = servletPath.charAt(i);
+				int index = Arrays.binarySearch(node.keys, c);
+
+				if (index < 0) {
+
+					index = -(index + 1);
+
+					char[] keys = new char[node.keys.length + 1];
+					System.arraycopy(node.keys, 0, keys, 0, index);
+					System.arraycopy(node.keys, index, keys, index + 1, node.keys.length - index);
+					keys[index] = c;
+
+					PrefixNode[] children = new PrefixNode[node.children.length + 1];
+					System.arraycopy(node.children, 0, children, 0, index);
+					System.arraycopy(node.children, index, children, index + 1, node.children.length - index);
+					children[index] = new PrefixNode();
+
+					node.keys = keys;
+					node.children = children;
+				}
+
+				node = node.children[index];
+			}
+
+			// According to the Servlet specification, the first servlet-mapping for a url-pattern wins.
+			if (node.servletMapping == null) {
+				node.servletMapping = servletMapping;
+			}
+		}
+
+		public ConfiguredServletMapping getLongestPrefixMatch(String path) {
+
+			// The root node represents the /* url-pattern which matches every path.
+			ConfiguredServletMapping longestPrefixMatch = servletMapping;
+			PrefixNode node = this;
+			int pathLength = path.length();
+
+			for (int i = 0; i < pathLength; i++) {
+
+				int index = Arrays.binarySearch(node.keys, path.charAt(i));
+
+				if (index < 0) {
+					break;
+				}
+
+				node = node.children[index];
+
+				// A path-mapped url-pattern only matches on a path segment boundary, so /faces/* matches /faces and
+				// /faces/view.xhtml but not /facesview.xhtml.
+				if ((node.servletMapping != null) && (((i + 1) == pathLength) || (path.charAt(i + 1) == '/'))) {
+					longestPrefixMatch = node.servletMapping;
+				}
+			}
+
+			return longestPrefixMatch;
+		}
+	}
+}
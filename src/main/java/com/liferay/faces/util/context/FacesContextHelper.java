@@ -472,6 +472,34 @@ public interface FacesContextHelper {
 	 */
 	public Object getSessionAttribute(FacesContext facesContext, String name);
 
+	/**
+	 * Returns the number of scripts that were ignored during the current request because an identical script had
+	 * already been added. Scripts are only ignored when {@link
+	 * com.liferay.faces.util.config.WebConfigParam#DeduplicateScripts} is enabled.
+	 *
+	 * @since  4.0
+	 */
+	public int getSuppressedScriptCount();
+
+	/**
+	 * Returns the number of scripts that were ignored during the current request because an identical script had
+	 * already been added. Scripts are only ignored when {@link
+	 * com.liferay.faces.util.config.WebConfigParam#DeduplicateScripts} is enabled.
+	 *
+	 * @param  facesContext  The current faces context.
+	 *
+	 * @since  4.0
+	 */
+	public int getSuppressedScriptCount(FacesContext facesContext);
+
+	/**
+	 * Returns the number of scripts that were ignored (across all requests) since the application started because an
+	 * identical script had already been added during the same request.
+	 *
+	 * @since  4.0
+	 */
+	public long getTotalSuppressedScriptCount();
+
 	/**
 	 * Traverses the component tree starting at the specified UIComponent parent and returns the first UIComponent child
 	 * that contains the specified partialClientId.
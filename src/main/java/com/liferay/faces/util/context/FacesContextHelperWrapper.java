@@ -381,6 +381,21 @@ public abstract class FacesContextHelperWrapper implements FacesContextHelper, F
 		return getWrapped().getSessionAttribute(facesContext, name);
 	}
 
+	@Override
+	public int getSuppressedScriptCount() {
+		return getWrapped().getSuppressedScriptCount();
+	}
+
+	@Override
+	public int getSuppressedScriptCount(FacesContext facesContext) {
+		return getWrapped().getSuppressedScriptCount(facesContext);
+	}
+
+	@Override
+	public long getTotalSuppressedScriptCount() {
+		return getWrapped().getTotalSuppressedScriptCount();
+	}
+
 	@Override
 	public UIComponent matchComponentInHierarchy(UIComponent parent, String partialClientId) {
 		return getWrapped().matchComponentInHierarchy(parent, partialClientId);
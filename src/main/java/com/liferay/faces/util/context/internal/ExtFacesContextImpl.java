@@ -756,6 +756,21 @@ public class ExtFacesContextImpl extends ExtFacesContext implements Serializable
 		return FacesContextHelperUtil.getSessionAttribute(facesContext, name);
 	}
 
+	@Override
+	public int getSuppressedScriptCount() {
+		return FacesContextHelperUtil.getSuppressedScriptCount();
+	}
+
+	@Override
+	public int getSuppressedScriptCount(FacesContext facesContext) {
+		return FacesContextHelperUtil.getSuppressedScriptCount(facesContext);
+	}
+
+	@Override
+	public long getTotalSuppressedScriptCount() {
+		return FacesContextHelperUtil.getTotalSuppressedScriptCount();
+	}
+
 	/**
 	 * @since  JSF 1.0
 	 */
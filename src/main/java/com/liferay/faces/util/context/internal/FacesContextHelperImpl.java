@@ -18,10 +18,13 @@ package com.liferay.faces.util.context.internal;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.el.ELContext;
 import javax.el.ELResolver;
@@ -45,6 +48,7 @@ import javax.servlet.http.HttpServletRequest;
 import com.liferay.faces.util.client.Script;
 import com.liferay.faces.util.client.ScriptFactory;
 import com.liferay.faces.util.component.ComponentUtil;
+import com.liferay.faces.util.config.WebConfigParam;
 import com.liferay.faces.util.context.FacesContextHelper;
 import com.liferay.faces.util.helper.BooleanHelper;
 import com.liferay.faces.util.helper.IntegerHelper;
@@ -63,8 +67,15 @@ public class FacesContextHelperImpl implements FacesContextHelper, Serializable
 
 	// Private Constants
 	private static final String UNEXPECTED_ERROR_MSG_ID = "an-unexpected-error-occurred";
+	private static final String SCRIPT_CONTENT_KEYS_KEY = FacesContextHelperImpl.class.getName() +
+		"_SCRIPT_CONTENT_KEYS";
 	private static final String SCRIPTS_KEY = FacesContextHelperImpl.class.getName() + "_SCRIPTS";
 	private static final String SUCCESS_INFO_MSG_ID = "your-request-processed-successfully";
+	private static final String SUPPRESSED_SCRIPT_COUNT_KEY = FacesContextHelperImpl.class.getName() +
+		"_SUPPRESSED_SCRIPT_COUNT";
+
+	// Private Final Data Members
+	private final AtomicLong totalSuppressedScriptCount = new AtomicLong();
 
 	@Override
 	public void addComponentErrorMessage(String clientId, String messageId) {
@@ -220,8 +231,27 @@ public class FacesContextHelperImpl implements FacesContextHelper, Serializable
 	}
 
 	@Override
+	@SuppressWarnings("unchecked")
 	public void addScript(FacesContext facesContext, Script script) {
-		getModifiableScriptsList(facesContext).add(script);
+
+		List<Script> scripts = getModifiableScriptsList(facesContext);
+		Map<Object, Object> attributes = facesContext.getAttributes();
+		Set<ScriptContentKey> scriptContentKeys = (Set<ScriptContentKey>) attributes.get(SCRIPT_CONTENT_KEYS_KEY);
+
+		if ((scriptContentKeys == null) || scriptContentKeys.add(new ScriptContentKey(script))) {
+			scripts.add(script);
+		}
+		else {
+
+			Integer suppressedScriptCount = (Integer) attributes.get(SUPPRESSED_SCRIPT_COUNT_KEY);
+
+			if (suppressedScriptCount == null) {
+				suppressedScriptCount = 0;
+			}
+
+			attributes.put(SUPPRESSED_SCRIPT_COUNT_KEY, suppressedScriptCount + 1);
+			totalSuppressedScriptCount.incrementAndGet();
+		}
 	}
 
 	@Override
@@ -510,6 +540,28 @@ public class FacesContextHelperImpl implements FacesContextHelper, Serializable
 		return sessionMap.get(name);
 	}
 
+	@Override
+	public int getSuppressedScriptCount() {
+		return getSuppressedScriptCount(FacesContext.getCurrentInstance());
+	}
+
+	@Override
+	public int getSuppressedScriptCount(FacesContext facesContext) {
+
+		Integer suppressedScriptCount = (Integer) facesContext.getAttributes().get(SUPPRESSED_SCRIPT_COUNT_KEY);
+
+		if (suppressedScriptCount == null) {
+			suppressedScriptCount = 0;
+		}
+
+		return suppressedScriptCount;
+	}
+
+	@Override
+	public long getTotalSuppressedScriptCount() {
+		return totalSuppressedScriptCount.get();
+	}
+
 	@Override
 	public UIComponent matchComponentInHierarchy(UIComponent parent, String partialClientId) {
 		return matchComponentInHierarchy(FacesContext.getCurrentInstance(), parent, partialClientId);
@@ -756,6 +808,14 @@ public class FacesContextHelperImpl implements FacesContextHelper, Serializable
 
 			scripts = new ArrayList<Script>();
 			attributes.put(SCRIPTS_KEY, scripts);
+
+			// The list preserves the order of the scripts while the set of content keys detects duplicates with a
+			// single hash lookup per added script.
+			ExternalContext externalContext = facesContext.getExternalContext();
+
+			if (WebConfigParam.DeduplicateScripts.getBooleanValue(externalContext)) {
+				attributes.put(SCRIPT_CONTENT_KEYS_KEY, new HashSet<ScriptContentKey>());
+			}
 		}
 
 		return scripts;
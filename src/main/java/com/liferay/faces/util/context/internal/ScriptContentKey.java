@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) 2000-2018 Liferay, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.liferay.faces.util.context.internal;
+
+import java.util.Arrays;
+
+import com.liferay.faces.util.client.Script;
+import com.liferay.faces.util.client.internal.SegmentedScript;
+
+
+/**
+ * This class is a key that identifies a {@link Script} by its content (source code, modules and modules type) so that
+ * identical scripts can be detected with a single hash lookup. The hash and the length of the source code are computed
+ * once when the key is created. The source code of a {@link SegmentedScript} is hashed directly from its buffer, and it
+ * is only converted to a {@link String} (in order to compare it character by character) if another key has the same
+ * hash, length, modules and modules type, which almost always means that the script is a duplicate.
+ *
+ * @author  Kyle Stiemann
+ */
+final class ScriptContentKey {
+
+	// Private Final Data Members
+	private final int hashCode;
+	private final String[] modules;
+	private final Script.ModulesType modulesType;
+	private final Script script;
+	private final int sourceCodeLength;
+
+	ScriptContentKey(Script script) {
+
+		this.script = script;
+		this.modules = script.getModules();
+		this.modulesType = script.getModulesType();
+
+		int sourceCodeHashCode;
+
+		if (script instanceof SegmentedScript) {
+
+			SegmentedScript segmentedScript = (SegmentedScript) script;
+			sourceCodeHashCode = segmentedScript.getSourceCodeHashCode();
+			sourceCodeLength = segmentedScript.getSourceCodeLength();
+		}
+		else {
+
+			String sourceCode = script.getSourceCode();
+			sourceCodeHashCode = (sourceCode == null) ? 0 : sourceCode.hashCode();
+			sourceCodeLength = (sourceCode == null) ? -1 : sourceCode.length();
+		}
+
+		int hashCode = sourceCodeHashCode;
+		hashCode = (31 * hashCode) + Arrays.hashCode(modules);
+		hashCode = (31 * hashCode) + ((modulesType == null) ? 0 : modulesType.hashCode());
+		this.hashCode = hashCode;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+
+		if (this == obj) {
+			return true;
+		}
+
+		if (!(obj instanceof ScriptContentKey)) {
+			return false;
+		}
+
+		ScriptContentKey scriptContentKey = (ScriptContentKey) obj;
+
+		if ((hashCode != scriptContentKey.hashCode) || (sourceCodeLength != scriptContentKey.sourceCodeLength) ||
+				(modulesType != scriptContentKey.modulesType) || !Arrays.equals(modules, scriptContentKey.modules)) {
+			return false;
+		}
+
+		String sourceCode = script.getSourceCode();
+
+		return (sourceCode == null) ? (scriptContentKey.script.getSourceCode() == null)
+									: sourceCode.equals(scriptContentKey.script.getSourceCode());
+	}
+
+	@Override
+	public int hashCode() {
+		return hashCode;
+	}
+}
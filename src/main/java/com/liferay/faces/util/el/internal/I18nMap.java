@@ -60,30 +60,95 @@ public class I18nMap implements Map<String, Object>, Serializable {
 
 		if (!facesContext.isProjectStage(ProjectStage.Development)) {
 
-			// Store the i18n message cache in the application map (as a Servlet Context attribute).
+			// Store the i18n message caches (one for each locale) in the application map (as a Servlet Context
+			// attribute).
 			ExternalContext externalContext = facesContext.getExternalContext();
-			Cache<String, String> messageCache;
-			int initialCacheCapacity = WebConfigParam.I18nELMapInitialCacheCapacity.getIntegerValue(externalContext);
-			int maxCacheCapacity = WebConfigParam.I18nELMapMaxCacheCapacity.getIntegerValue(externalContext);
+			Cache<Locale, Cache<String, String>> messageCaches = CacheFactory.getConcurrentCacheInstance(
+					externalContext, 16);
+			Map<String, Object> applicationMap = externalContext.getApplicationMap();
+			applicationMap.put(I18nMap.class.getName(), messageCaches);
+		}
+	}
 
-			if (maxCacheCapacity > -1) {
-				messageCache = CacheFactory.getConcurrentLRUCacheInstance(externalContext, initialCacheCapacity,
-						maxCacheCapacity);
-			}
-			else {
-				messageCache = CacheFactory.getConcurrentCacheInstance(externalContext, initialCacheCapacity);
+	/**
+	 * Populates the message cache of I18nMap with the specified messages of the specified locale so that the first
+	 * EL evaluation of each message does not need to consult the {@link I18n} delegation chain. This method does
+	 * nothing if the message cache has not been initialized (for example in the Development project stage).
+	 *
+	 * @param  facesContext  The current faces context.
+	 * @param  locale        The locale of the messages.
+	 * @param  messageIds    The ids of the messages.
+	 */
+	public static void populateMessageCache(FacesContext facesContext, Locale locale, Collection<String> messageIds) {
+
+		ExternalContext externalContext = facesContext.getExternalContext();
+		Cache<String, String> messageCache = getMessageCache(externalContext, locale);
+
+		if (messageCache != null) {
+
+			I18n i18n = I18nFactory.getI18nInstance(externalContext);
+
+			for (String messageId : messageIds) {
+
+				String message = i18n.getMessage(facesContext, locale, messageId);
+
+				if (message != null) {
+					messageCache.putValueIfAbsent(messageId, message);
+				}
 			}
+		}
+	}
 
-			Map<String, Object> applicationMap = externalContext.getApplicationMap();
-			applicationMap.put(I18nMap.class.getName(), messageCache);
+	private static Locale getLocale(FacesContext facesContext) {
+
+		UIViewRoot viewRoot = facesContext.getViewRoot();
+		Locale locale = viewRoot.getLocale();
+
+		if (locale == null) {
+
+			Application application = facesContext.getApplication();
+			locale = application.getDefaultLocale();
+
+			if (locale == null) {
+				locale = Locale.getDefault();
+			}
 		}
+
+		return locale;
 	}
 
-	private static Cache<String, String> getMessageCache(ExternalContext externalContext) {
+	private static Cache<String, String> getMessageCache(ExternalContext externalContext, Locale locale) {
 
 		Map<String, Object> applicationMap = externalContext.getApplicationMap();
+		Cache<Locale, Cache<String, String>> messageCaches = (Cache<Locale, Cache<String, String>>)
+			applicationMap.get(I18nMap.class.getName());
+		Cache<String, String> messageCache = null;
+
+		if (messageCaches != null) {
+
+			// The messages are cached in a separate cache for each locale so that the message id can be used as the
+			// key without any concatenation. As a result, a cache hit does not allocate any objects.
+			messageCache = messageCaches.getValue(locale);
+
+			if (messageCache == null) {
+
+				int initialCacheCapacity = WebConfigParam.I18nELMapInitialCacheCapacity.getIntegerValue(
+						externalContext);
+				int maxCacheCapacity = WebConfigParam.I18nELMapMaxCacheCapacity.getIntegerValue(externalContext);
+
+				if (maxCacheCapacity > -1) {
+					messageCache = CacheFactory.getConcurrentLRUCacheInstance(externalContext, initialCacheCapacity,
+							maxCacheCapacity);
+				}
+				else {
+					messageCache = CacheFactory.getConcurrentCacheInstance(externalContext, initialCacheCapacity);
+				}
 
-		return (Cache<String, String>) applicationMap.get(I18nMap.class.getName());
+				messageCache = messageCaches.putValueIfAbsent(locale, messageCache);
+			}
+		}
+
+		return messageCache;
 	}
 
 	@Override
@@ -115,40 +180,28 @@ public class I18nMap implements Map<String, Object>, Serializable {
 		if (key != null) {
 
 			FacesContext facesContext = FacesContext.getCurrentInstance();
-			UIViewRoot viewRoot = facesContext.getViewRoot();
-			Locale locale = viewRoot.getLocale();
-
-			if (locale == null) {
-				Application application = facesContext.getApplication();
-				locale = application.getDefaultLocale();
-			}
-
+			Locale locale = getLocale(facesContext);
 			ExternalContext externalContext = facesContext.getExternalContext();
-			I18n i18n = I18nFactory.getI18nInstance(externalContext);
-
 			String keyAsString = key.toString();
-			Cache<String, String> messageCache = getMessageCache(externalContext);
+			Cache<String, String> messageCache = getMessageCache(externalContext, locale);
 
 			if (messageCache != null) {
 
-				String messageKey = keyAsString;
-
-				if (locale != null) {
-					messageKey = locale.toString().concat(keyAsString);
-				}
-
-				message = messageCache.getValue(messageKey);
+				message = messageCache.getValue(keyAsString);
 
 				if (message == null) {
 
+					I18n i18n = I18nFactory.getI18nInstance(externalContext);
 					message = i18n.getMessage(facesContext, locale, keyAsString);
 
 					if (message != null) {
-						message = messageCache.putValueIfAbsent(messageKey, message);
+						message = messageCache.putValueIfAbsent(keyAsString, message);
 					}
 				}
 			}
 			else {
+
+				I18n i18n = I18nFactory.getI18nInstance(externalContext);
 				message = i18n.getMessage(facesContext, locale, keyAsString);
 			}
 		}
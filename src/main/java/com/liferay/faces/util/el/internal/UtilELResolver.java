@@ -15,6 +15,8 @@
  */
 package com.liferay.faces.util.el.internal;
 
+import java.util.Map;
+
 import javax.el.ELContext;
 import javax.el.ELException;
 import javax.el.PropertyNotWritableException;
@@ -42,6 +44,9 @@ public class UtilELResolver extends ELResolverBase {
 	// serialVersionUID
 	private static final long serialVersionUID = 4993137243887595902L;
 
+	// Private Constants
+	private static final String BROWSER_SNIFFER_KEY = UtilELResolver.class.getName() + ".browserSniffer";
+
 	// Private Data Members
 	private final I18nMap i18nMap = new I18nMap();
 
@@ -98,9 +103,18 @@ public class UtilELResolver extends ELResolverBase {
 			}
 			else if (varName.equals("browserSniffer")) {
 
+				// The browser sniffer only depends on the request headers, so a single instance is shared by every
+				// evaluation during the request rather than creating a new instance for each EL expression.
 				FacesContext facesContext = FacesContext.getCurrentInstance();
-				ExternalContext externalContext = facesContext.getExternalContext();
-				value = BrowserSnifferFactory.getBrowserSnifferInstance(externalContext);
+				Map<Object, Object> attributes = facesContext.getAttributes();
+				value = attributes.get(BROWSER_SNIFFER_KEY);
+
+				if (value == null) {
+
+					ExternalContext externalContext = facesContext.getExternalContext();
+					value = BrowserSnifferFactory.getBrowserSnifferInstance(externalContext);
+					attributes.put(BROWSER_SNIFFER_KEY, value);
+				}
 			}
 			else if (varName.equals("product")) {
 
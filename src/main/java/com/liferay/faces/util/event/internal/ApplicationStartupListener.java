@@ -21,6 +21,7 @@ import java.util.List;
 import java.util.Map;
 
 import javax.faces.application.Application;
+import javax.faces.application.ProjectStage;
 import javax.faces.context.ExternalContext;
 import javax.faces.context.FacesContext;
 import javax.faces.event.AbortProcessingException;
@@ -31,8 +32,11 @@ import com.liferay.faces.util.config.FacesConfig;
 import com.liferay.faces.util.config.WebConfigParam;
 import com.liferay.faces.util.config.internal.ApplicationConfigInitializer;
 import com.liferay.faces.util.config.internal.ApplicationConfigInitializerImpl;
+import com.liferay.faces.util.context.FacesContextHelperUtil;
 import com.liferay.faces.util.el.internal.I18nMap;
 import com.liferay.faces.util.factory.FactoryExtensionFinder;
+import com.liferay.faces.util.i18n.internal.I18nBundleReloader;
+import com.liferay.faces.util.i18n.internal.I18nWarmUp;
 
 
 /**
@@ -81,6 +85,16 @@ public class ApplicationStartupListener extends ApplicationStartupListenerCompat
 
 			UtilDependencyVerifier.verify(initExternalContext);
 			I18nMap.initMessageCache(initFacesContext);
+
+			if (WebConfigParam.I18nWarmUp.getBooleanValue(initExternalContext)) {
+				I18nWarmUp.warmUp(initFacesContext);
+			}
+
+			// Pick up changes to i18n resource bundles without restarting the application during development.
+			if (initFacesContext.isProjectStage(ProjectStage.Development)) {
+				FacesContextHelperUtil.registerPhaseListener(new I18nBundleReloader());
+			}
+
 			publishEvent(application, initFacesContext, applicationConfig);
 		}
 	}
@@ -17,7 +17,6 @@ package com.liferay.faces.util.factory.internal;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
-import java.util.HashMap;
 import java.util.Map;
 
 import javax.faces.context.ExternalContext;
@@ -40,6 +39,9 @@ public class FactoryExtensionFinderImpl extends FactoryExtensionFinder {
 	// Private Constants
 	private static final String FACTORY_EXTENSION_CACHE = FactoryExtensionFinderImpl.class.getName();
 
+	// Private Data Members
+	private volatile FactoryExtensionRegistry factoryExtensionRegistry;
+
 	@Override
 	@Deprecated
 	public Object getFactoryInstance(Class<?> factoryClass) {
@@ -55,8 +57,12 @@ public class FactoryExtensionFinderImpl extends FactoryExtensionFinder {
 		Object factory = null;
 
 		if (factoryClass != null) {
-			Map<Class<?>, Object> factoryExtensionCache = getFactoryExtensionCache(externalContext);
-			factory = factoryExtensionCache.get(factoryClass);
+
+			FactoryExtensionRegistry factoryExtensionRegistry = getFactoryExtensionRegistry(externalContext);
+
+			if (factoryExtensionRegistry != null) {
+				factory = factoryExtensionRegistry.getFactory(factoryClass);
+			}
 		}
 
 		return factory;
@@ -70,7 +76,6 @@ public class FactoryExtensionFinderImpl extends FactoryExtensionFinder {
 	}
 
 	@Override
-	@SuppressWarnings("unchecked")
 	public void registerFactory(ExternalContext externalContext, ConfiguredElement configuredFactoryExtension) {
 
 		if (configuredFactoryExtension != null) {
@@ -82,12 +87,30 @@ public class FactoryExtensionFinderImpl extends FactoryExtensionFinder {
 				ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
 				Class<?> factoryExtensionClass = classLoader.loadClass(factoryClassFQCN);
 				Class<?> baseFactoryExtensionClass = getBaseFactoryExtensionClass(factoryExtensionClass);
-				Object existingFactoryInstance = getFactoryInstance(externalContext, baseFactoryExtensionClass);
-				Object factoryInstance = newFactoryInstance(classLoader, factoryExtensionClass,
-						baseFactoryExtensionClass, existingFactoryInstance);
 
-				Map<Class<?>, Object> factoryExtensionCache = getFactoryExtensionCache(externalContext);
-				factoryExtensionCache.put(baseFactoryExtensionClass, factoryInstance);
+				// Registration only happens during application initialization, so it is acceptable to serialize it in
+				// order to prevent concurrently initializing webapps from losing each other's updates.
+				synchronized (this) {
+
+					Object existingFactoryInstance = getFactoryInstance(externalContext, baseFactoryExtensionClass);
+					Object factoryInstance = newFactoryInstance(classLoader, factoryExtensionClass,
+							baseFactoryExtensionClass, existingFactoryInstance);
+
+					FactoryExtensionRegistry factoryExtensionRegistry = getFactoryExtensionRegistry(externalContext);
+
+					if (factoryExtensionRegistry == null) {
+						factoryExtensionRegistry = new FactoryExtensionRegistry(externalContext.getContext());
+					}
+
+					// Copy-on-write: publish a new immutable registry rather than modifying the existing one which
+					// might be concurrently read by other threads.
+					factoryExtensionRegistry = factoryExtensionRegistry.withFactory(baseFactoryExtensionClass,
+							factoryInstance);
+
+					Map<String, Object> applicationMap = externalContext.getApplicationMap();
+					applicationMap.put(FACTORY_EXTENSION_CACHE, factoryExtensionRegistry);
+					this.factoryExtensionRegistry = factoryExtensionRegistry;
+				}
 			}
 			catch (Exception e) {
 				logger.error(e);
@@ -96,16 +119,19 @@ public class FactoryExtensionFinderImpl extends FactoryExtensionFinder {
 	}
 
 	@Override
-	@SuppressWarnings("unchecked")
 	public void releaseFactories(ExternalContext externalContext) {
 
-		Map<String, Object> applicationMap = externalContext.getApplicationMap();
-		Map<Class<?>, Object> factoryExtensionCache = (Map<Class<?>, Object>) applicationMap.get(
-				FACTORY_EXTENSION_CACHE);
+		synchronized (this) {
 
-		if (factoryExtensionCache != null) {
-			factoryExtensionCache.clear();
+			Map<String, Object> applicationMap = externalContext.getApplicationMap();
 			applicationMap.remove(FACTORY_EXTENSION_CACHE);
+
+			FactoryExtensionRegistry factoryExtensionRegistry = this.factoryExtensionRegistry;
+
+			if ((factoryExtensionRegistry != null) &&
+					(factoryExtensionRegistry.getContext() == externalContext.getContext())) {
+				this.factoryExtensionRegistry = null;
+			}
 		}
 	}
 
@@ -122,19 +148,34 @@ public class FactoryExtensionFinderImpl extends FactoryExtensionFinder {
 		return baseFactoryExtensionClass;
 	}
 
-	@SuppressWarnings("unchecked")
-	private Map<Class<?>, Object> getFactoryExtensionCache(ExternalContext externalContext) {
+	private FactoryExtensionRegistry getFactoryExtensionRegistry(ExternalContext externalContext) {
 
-		Map<String, Object> applicationMap = externalContext.getApplicationMap();
-		Map<Class<?>, Object> factoryExtensionCache = (Map<Class<?>, Object>) applicationMap.get(
-				FACTORY_EXTENSION_CACHE);
+		// Since the FactoryExtensionFinder is a singleton, it may be shared by several webapps (for example when this
+		// library is deployed as a shared OSGi bundle). The most recently used registry is remembered in a volatile
+		// field so that, in the common case of a single webapp, a lookup only requires a single volatile read and an
+		// identity comparison of the ServletContext/PortletContext. Otherwise the registry of the webapp is obtained
+		// from the application map.
+		FactoryExtensionRegistry factoryExtensionRegistry = this.factoryExtensionRegistry;
+		Object context = externalContext.getContext();
 
-		if (factoryExtensionCache == null) {
-			factoryExtensionCache = new HashMap<Class<?>, Object>();
-			applicationMap.put(FACTORY_EXTENSION_CACHE, factoryExtensionCache);
+		if ((factoryExtensionRegistry == null) || (factoryExtensionRegistry.getContext() != context)) {
+
+			// The application map is read and the field is written under the same lock that registerFactory and
+			// releaseFactories hold while updating them. Otherwise a registry read from the application map just
+			// before registerFactory publishes a newer one could be written back to the field afterwards, and since
+			// its context would still match, the stale registry would be used from then on.
+			synchronized (this) {
+
+				Map<String, Object> applicationMap = externalContext.getApplicationMap();
+				factoryExtensionRegistry = (FactoryExtensionRegistry) applicationMap.get(FACTORY_EXTENSION_CACHE);
+
+				if (factoryExtensionRegistry != null) {
+					this.factoryExtensionRegistry = factoryExtensionRegistry;
+				}
+			}
 		}
 
-		return factoryExtensionCache;
+		return factoryExtensionRegistry;
 	}
 
 	private Object newFactoryInstance(ClassLoader classLoader, Class<?> factoryExtensionClass,
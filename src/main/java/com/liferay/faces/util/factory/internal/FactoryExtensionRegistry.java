@@ -0,0 +1,110 @@
+/**
+ * Copyright (c) 2000-2018 Liferay, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.liferay.faces.util.factory.internal;
+
+/**
+ * This class is an immutable registry of factory instances keyed by factory class. Registering a factory creates a new
+ * copy of the registry so that instances can be safely published to other threads through a single volatile (or
+ * otherwise synchronized) reference. Lookups are performed with an open-addressing table that compares keys by
+ * identity.
+ *
+ * @author  Kyle Stiemann
+ */
+final class FactoryExtensionRegistry {
+
+	// Private Final Data Members
+	private final Object context;
+	private final Class<?>[] factoryClasses;
+	private final Object[] factories;
+	private final int size;
+
+	FactoryExtensionRegistry(Object context) {
+		this(context, new Class<?>[8], new Object[8], 0);
+	}
+
+	private FactoryExtensionRegistry(Object context, Class<?>[] factoryClasses, Object[] factories, int size) {
+		this.context = context;
+		this.factoryClasses = factoryClasses;
+		this.factories = factories;
+		this.size = size;
+	}
+
+	private static int indexOf(Class<?>[] factoryClasses, Class<?> factoryClass) {
+
+		int mask = factoryClasses.length - 1;
+		int index = System.identityHashCode(factoryClass) & mask;
+		Class<?> key;
+
+		while (((key = factoryClasses[index]) != null) && (key != factoryClass)) {
+			index = (index + 1) & mask;
+		}
+
+		return index;
+	}
+
+	/**
+	 * Returns the context (the ServletContext or PortletContext) of the webapp that this registry belongs to.
+	 */
+	Object getContext() {
+		return context;
+	}
+
+	/**
+	 * Returns the factory instance associated with the specified factory class, or null if no such factory has been
+	 * registered.
+	 */
+	Object getFactory(Class<?> factoryClass) {
+		return factories[indexOf(factoryClasses, factoryClass)];
+	}
+
+	/**
+	 * Returns a copy of this registry in which the specified factory class is associated with the specified factory
+	 * instance. This registry is not modified.
+	 */
+	FactoryExtensionRegistry withFactory(Class<?> factoryClass, Object factory) {
+
+		int capacity = factoryClasses.length;
+
+		// Keep the load factor at or below one half so that probe sequences remain short.
+		if (((size + 1) * 2) > capacity) {
+			capacity = capacity << 1;
+		}
+
+		Class<?>[] newFactoryClasses = new Class<?>[capacity];
+		Object[] newFactories = new Object[capacity];
+		int newSize = 0;
+
+		for (int i = 0; i < factoryClasses.length; i++) {
+
+			Class<?> existingFactoryClass = factoryClasses[i];
+
+			if ((existingFactoryClass != null) && (existingFactoryClass != factoryClass)) {
+
+				int index = indexOf(newFactoryClasses, existingFactoryClass);
+				newFactoryClasses[index] = existingFactoryClass;
+				newFactories[index] = factories[i];
+				newSize++;
+			}
+		}
+
+		int index = indexOf(newFactoryClasses, factoryClass);
+		newFactoryClasses[index] = factoryClass;
+		newFactories[index] = factory;
+		newSize++;
+
+		return new FactoryExtensionRegistry(context, newFactoryClasses, newFactories, newSize);
+	}
+}
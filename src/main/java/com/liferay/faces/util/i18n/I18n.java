@@ -15,7 +15,9 @@
  */
 package com.liferay.faces.util.i18n;
 
+import java.util.Collection;
 import java.util.Locale;
+import java.util.Map;
 
 import javax.faces.application.FacesMessage;
 import javax.faces.context.FacesContext;
@@ -78,4 +80,32 @@ public interface I18n {
 	 *                       pattern.
 	 */
 	public String getMessage(FacesContext facesContext, Locale locale, String messageId, Object... arguments);
+
+	/**
+	 * Returns the immutable {@link MessageCatalog} of the resource bundle with the specified {@code baseName} for the
+	 * specified {@code locale}. Catalogs are loaded once and then cached, so calling this method is inexpensive.
+	 *
+	 * @param  facesContext  The current faces context.
+	 * @param  locale        The locale of the catalog. If null, then the default locale is used.
+	 * @param  baseName      The base name of the resource bundle.
+	 */
+	public MessageCatalog getMessageCatalog(FacesContext facesContext, Locale locale, String baseName);
+
+	/**
+	 * Returns an immutable map of the internationalized {@link String} messages of the specified {@code messageIds}
+	 * for the specified {@code locale}. The iteration order of the map is the iteration order of {@code messageIds}.
+	 * Each value is the same as the value that would be returned by {@link #getMessage(FacesContext, Locale,
+	 * String)}, but the messages are resolved with a single pass through the delegation chain: {@link I18nBundleBase}
+	 * resolves the messages of its own bundle and passes the rest down with a single call, and the default
+	 * implementation at the end of the delegation chain resolves all of the remaining messages with a single lookup of
+	 * its catalogs. A generic {@link I18nWrapper} resolves each message via {@link #getMessage(FacesContext, Locale,
+	 * String)} so that wrappers which only override that method are honored. This method is intended for components
+	 * that render many messages at once (for example into JavaScript, see {@link
+	 * I18nUtil#writeJavaScriptObjectLiteral(java.io.Writer, Map)}).
+	 *
+	 * @param  facesContext  The current faces context.
+	 * @param  locale        The locale of the messages.
+	 * @param  messageIds    The ids of the messages.
+	 */
+	public Map<String, String> getMessages(FacesContext facesContext, Locale locale, Collection<String> messageIds);
 }
@@ -16,10 +16,13 @@
 package com.liferay.faces.util.i18n;
 
 import java.io.Serializable;
-import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.MissingResourceException;
 import java.util.ResourceBundle;
 
 import javax.faces.application.FacesMessage;
@@ -28,15 +31,15 @@ import javax.faces.context.FacesContext;
 
 import com.liferay.faces.util.cache.Cache;
 import com.liferay.faces.util.cache.CacheFactory;
-import com.liferay.faces.util.i18n.internal.UTF8Control;
+import com.liferay.faces.util.i18n.internal.MessageTemplate;
 import com.liferay.faces.util.logging.Logger;
 import com.liferay.faces.util.logging.LoggerFactory;
 
 
 /**
  * This is an abstract class that provides a convenient base implementation for introducing an internationalized {@link
- * ResourceBundle} into the {@link I18n} delegation chain. For the sake of performance, lookups into the ResourceBundle
- * are cached by this class in a synchronized map.
+ * ResourceBundle} into the {@link I18n} delegation chain. For the sake of performance, the ResourceBundle is loaded
+ * as a {@link MessageCatalog} and lookups into the catalog are cached by this class in a synchronized map.
  *
  * @author  Neil Griffin
  */
@@ -58,13 +61,14 @@ public abstract class I18nBundleBase extends I18nWrapper implements Serializable
 		// This class is instantiated by the I18nFactory delegation chain during application startup.
 		FacesContext startupFacesContext = FacesContext.getCurrentInstance();
 
-		// Store the message cache in the application map (as a Servlet Context attribute).
+		// Store the message caches (one for each locale) in the application map (as a Servlet Context attribute).
 		if (startupFacesContext != null) {
 
 			ExternalContext externalContext = startupFacesContext.getExternalContext();
-			Cache<String, String> messageCache = newConcurrentMessageCache(externalContext);
+			Cache<Locale, Cache<String, String>> messageCaches = CacheFactory.getConcurrentCacheInstance(
+					externalContext, 16);
 			Map<String, Object> applicationMap = externalContext.getApplicationMap();
-			applicationMap.put(getClass().getName(), messageCache);
+			applicationMap.put(getClass().getName(), messageCaches);
 		}
 		else {
 			logger.error("Unable to store the resource bundle cache in the application map");
@@ -88,81 +92,68 @@ public abstract class I18nBundleBase extends I18nWrapper implements Serializable
 	@Override
 	public String getMessage(FacesContext facesContext, Locale locale, String messageId) {
 
-		String message = null;
-		String key = messageId;
+		if (locale == null) {
+			locale = Locale.getDefault();
+		}
+
+		String message = getBundleMessage(facesContext, locale, messageId);
 
-		if (locale != null) {
-			key = locale.toString() + messageId;
+		if (message == null) {
+			message = super.getMessage(facesContext, locale, messageId);
 		}
 
-		ExternalContext externalContext = facesContext.getExternalContext();
-		Map<String, Object> applicationMap = externalContext.getApplicationMap();
-		Cache<String, String> messageCache = (Cache<String, String>) applicationMap.get(getClass().getName());
+		return message;
+	}
 
-		if ((messageCache != null) && messageCache.containsKey(key)) {
+	@Override
+	public String getMessage(FacesContext facesContext, Locale locale, String messageId, Object... arguments) {
 
-			message = messageCache.getValue(key);
+		String message = getMessage(facesContext, locale, messageId);
 
-			if ("".equals(message)) {
-				message = null;
-			}
+		if (message != null) {
+			message = MessageTemplate.format(message, arguments);
 		}
-		else {
 
-			ResourceBundle resourceBundle = null;
+		return message;
+	}
 
-			try {
-				String bundleKey = getBundleKey();
-				ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+	/**
+	 * Resolves all of the specified messages from the bundle of this class (via its message cache) in a single pass and
+	 * then passes only the messages that are not in the bundle down the delegation chain with a single call to {@link
+	 * I18n#getMessages(FacesContext, Locale, Collection)}.
+	 */
+	@Override
+	public Map<String, String> getMessages(FacesContext facesContext, Locale locale, Collection<String> messageIds) {
 
-				if (locale == null) {
-					resourceBundle = ResourceBundle.getBundle(bundleKey, Locale.getDefault(), classLoader,
-							new UTF8Control());
-				}
-				else {
-					resourceBundle = ResourceBundle.getBundle(bundleKey, locale, classLoader, new UTF8Control());
-				}
-			}
-			catch (MissingResourceException e) {
-				logger.error(e);
-			}
+		if (locale == null) {
+			locale = Locale.getDefault();
+		}
 
-			if (resourceBundle != null) {
+		Map<String, String> messages = new LinkedHashMap<String, String>((messageIds.size() * 4 / 3) + 1);
+		List<String> unresolvedMessageIds = null;
 
-				try {
+		for (String messageId : messageIds) {
 
-					message = resourceBundle.getString(messageId);
+			String message = getBundleMessage(facesContext, locale, messageId);
 
-					if (messageCache != null) {
-						message = messageCache.putValueIfAbsent(key, message);
-					}
-				}
-				catch (MissingResourceException e) {
+			if (message == null) {
 
-					if (messageCache != null) {
-						messageCache.putValueIfAbsent(key, "");
-					}
+				if (unresolvedMessageIds == null) {
+					unresolvedMessageIds = new ArrayList<String>();
 				}
+
+				unresolvedMessageIds.add(messageId);
 			}
-		}
 
-		if (message == null) {
-			message = super.getMessage(facesContext, locale, messageId);
+			// Preserve the iteration order of the message ids, even for messages that are resolved later.
+			messages.put(messageId, message);
 		}
 
-		return message;
-	}
-
-	@Override
-	public String getMessage(FacesContext facesContext, Locale locale, String messageId, Object... arguments) {
-
-		String message = getMessage(facesContext, locale, messageId);
-
-		if (message != null) {
-			message = MessageFormat.format(message, arguments);
+		if (unresolvedMessageIds != null) {
+			messages.putAll(getWrapped().getMessages(facesContext, locale, unresolvedMessageIds));
 		}
 
-		return message;
+		return Collections.unmodifiableMap(messages);
 	}
 
 	@Override
@@ -173,13 +164,77 @@ public abstract class I18nBundleBase extends I18nWrapper implements Serializable
 	/**
 	 * Returns a new message cache to be used by {@link I18nBundleBase}. The default implementation returns a Cache
 	 * instance obtained from {@link CacheFactory#getConcurrentCacheInstance(javax.faces.context.ExternalContext, int)}
-	 * (passing 16 as the initial cache capacity). The cache will be stored in the application map. This method is
-	 * called from the constructor of I18nBundleBase, so this method must not cause side effects and should not expect
-	 * I18nBundleBase (or its subclass) to be fully initialized.
+	 * (passing 16 as the initial cache capacity). A separate cache is created for each locale (keyed by message id) and
+	 * stored in the application map. This method is called lazily the first time that a message is requested for a
+	 * locale, so this method must not cause side effects.
 	 *
 	 * @param  externalContext  The external context associated with the current {@link FacesContext}.
 	 */
 	protected Cache<String, String> newConcurrentMessageCache(ExternalContext externalContext) {
 		return CacheFactory.getConcurrentCacheInstance(externalContext, 16);
 	}
+
+	private String getBundleMessage(FacesContext facesContext, Locale locale, String messageId) {
+
+		String message = null;
+		ExternalContext externalContext = facesContext.getExternalContext();
+		Cache<String, String> messageCache = getMessageCache(externalContext, locale);
+
+		if (messageCache != null) {
+			message = messageCache.getValue(messageId);
+		}
+
+		if (message == null) {
+
+			// Misses are cached as an empty string so that subsequent lookups are a single hash probe.
+			String bundleKey = getBundleKey();
+			MessageCatalog messageCatalog = getMessageCatalog(facesContext, locale, bundleKey);
+			message = messageCatalog.getMessage(messageId);
+
+			if (message != null) {
+
+				if (messageCache != null) {
+					message = messageCache.putValueIfAbsent(messageId, message);
+				}
+			}
+			else {
+
+				if (messageCatalog.getSize() == 0) {
+					logger.error("Unable to find resource bundle [{0}] for locale [{1}]", bundleKey, locale);
+				}
+
+				if (messageCache != null) {
+					messageCache.putValueIfAbsent(messageId, "");
+				}
+			}
+		}
+		else if ("".equals(message)) {
+			message = null;
+		}
+
+		return message;
+	}
+
+	private Cache<String, String> getMessageCache(ExternalContext externalContext, Locale locale) {
+
+		Map<String, Object> applicationMap = externalContext.getApplicationMap();
+		Cache<Locale, Cache<String, String>> messageCaches = (Cache<Locale, Cache<String, String>>)
+			applicationMap.get(getClass().getName());
+		Cache<String, String> messageCache = null;
+
+		if (messageCaches != null) {
+
+			// The messages are cached in a separate cache for each locale so that the message id can be used as the
+			// key without any concatenation. As a result, a cache hit does not allocate any objects.
+			messageCache = messageCaches.getValue(locale);
+
+			if (messageCache == null) {
+
+				messageCache = newConcurrentMessageCache(externalContext);
+				messageCache = messageCaches.putValueIfAbsent(locale, messageCache);
+			}
+		}
+
+		return messageCache;
+	}
 }
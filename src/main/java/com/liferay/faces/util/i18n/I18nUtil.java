@@ -15,11 +15,16 @@
  */
 package com.liferay.faces.util.i18n;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.Locale;
+import java.util.Map;
 
 import javax.faces.application.FacesMessage;
 import javax.faces.context.FacesContext;
 
+import com.liferay.faces.util.render.RendererUtil;
+
 
 /**
  * @author  Neil Griffin
@@ -73,4 +78,42 @@ public class I18nUtil {
 
 		return facesMessage;
 	}
+
+	/**
+	 * Writes the specified messages (typically obtained from {@link I18n#getMessages(FacesContext, Locale,
+	 * java.util.Collection)}) as a JavaScript object literal in which each message id is a property name and each
+	 * message is a string value. Both message ids and messages are escaped with {@link
+	 * RendererUtil#escapeJavaScript(String)}.
+	 *
+	 * @param  writer    The writer (for example the current {@link javax.faces.context.ResponseWriter}).
+	 * @param  messages  The messages keyed by message id.
+	 */
+	public static void writeJavaScriptObjectLiteral(Writer writer, Map<String, String> messages) throws IOException {
+
+		writer.write('{');
+
+		boolean first = true;
+
+		for (Map.Entry<String, String> entry : messages.entrySet()) {
+
+			if (!first) {
+				writer.write(',');
+			}
+
+			first = false;
+			writer.write('"');
+			RendererUtil.escapeJavaScript(writer, entry.getKey());
+			writer.write("\":\"");
+
+			String message = entry.getValue();
+
+			if (message != null) {
+				RendererUtil.escapeJavaScript(writer, message);
+			}
+
+			writer.write('"');
+		}
+
+		writer.write('}');
+	}
 }
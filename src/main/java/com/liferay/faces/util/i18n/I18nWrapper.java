@@ -15,7 +15,11 @@
  */
 package com.liferay.faces.util.i18n;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Locale;
+import java.util.Map;
 
 import javax.faces.FacesWrapper;
 import javax.faces.application.FacesMessage;
@@ -63,4 +67,29 @@ public abstract class I18nWrapper implements I18n, FacesWrapper<I18n> {
 	public String getMessage(FacesContext facesContext, Locale locale, String messageId, Object... arguments) {
 		return getWrapped().getMessage(facesContext, locale, messageId, arguments);
 	}
+
+	/**
+	 * See {@link I18n#getMessageCatalog(FacesContext, Locale, String)}
+	 */
+	@Override
+	public MessageCatalog getMessageCatalog(FacesContext facesContext, Locale locale, String baseName) {
+		return getWrapped().getMessageCatalog(facesContext, locale, baseName);
+	}
+
+	/**
+	 * See {@link I18n#getMessages(FacesContext, Locale, Collection)}. The default implementation resolves each message
+	 * by calling {@link #getMessage(FacesContext, Locale, String)} on this wrapper so that wrappers which only override
+	 * {@link #getMessage(FacesContext, Locale, String)} return the same messages from both methods.
+	 */
+	@Override
+	public Map<String, String> getMessages(FacesContext facesContext, Locale locale, Collection<String> messageIds) {
+
+		Map<String, String> messages = new LinkedHashMap<String, String>((messageIds.size() * 4 / 3) + 1);
+
+		for (String messageId : messageIds) {
+			messages.put(messageId, getMessage(facesContext, locale, messageId));
+		}
+
+		return Collections.unmodifiableMap(messages);
+	}
 }
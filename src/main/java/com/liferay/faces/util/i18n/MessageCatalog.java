@@ -0,0 +1,58 @@
+/**
+ * Copyright (c) 2000-2018 Liferay, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.liferay.faces.util.i18n;
+
+import java.util.Locale;
+import java.util.Set;
+
+
+/**
+ * This interface represents an immutable catalog of the messages of a resource bundle for a particular locale. The
+ * messages of the parent locales (for example "pt" and the root locale for "pt_BR") are flattened into the catalog when
+ * it is loaded, so a lookup never needs to consult another catalog.
+ *
+ * @author  Kyle Stiemann
+ */
+public interface MessageCatalog {
+
+	/**
+	 * Returns the base name of the resource bundle that the messages were loaded from.
+	 */
+	public String getBaseName();
+
+	/**
+	 * Returns the locale of the catalog.
+	 */
+	public Locale getLocale();
+
+	/**
+	 * Returns the message associated with the specified {@code messageId}, or null if the catalog does not contain the
+	 * message.
+	 *
+	 * @param  messageId  The id of the message.
+	 */
+	public String getMessage(String messageId);
+
+	/**
+	 * Returns an unmodifiable set of the ids of all of the messages in the catalog.
+	 */
+	public Set<String> getMessageIds();
+
+	/**
+	 * Returns the number of messages in the catalog.
+	 */
+	public int getSize();
+}
@@ -0,0 +1,189 @@
+/**
+ * Copyright (c) 2000-2018 Liferay, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.liferay.faces.util.i18n.internal;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.faces.context.ExternalContext;
+
+import com.liferay.faces.util.cache.Cache;
+import com.liferay.faces.util.cache.CacheFactory;
+import com.liferay.faces.util.factory.FactoryExtensionFinder;
+
+
+/**
+ * This class resolves the ".properties" resources that make up a resource bundle for a locale by walking the candidate
+ * locales (for example "pt_BR", "pt" and the root locale) and, if necessary, the fallback locale, in the same manner as
+ * {@link java.util.ResourceBundle#getBundle(String, Locale, ClassLoader, java.util.ResourceBundle.Control)}. Both the
+ * resolved list of resources for each (base name, locale) pair (keyed by locale and then by base name so that a lookup
+ * does not need to build a key) and the result of each individual ClassLoader probe are cached, so a ClassLoader lookup
+ * for a missing resource is never repeated, even when the resource is a candidate for several locales (such as "pt" for
+ * both "pt_BR" and "pt_PT") or several I18n implementations.
+ *
+ * @author  Kyle Stiemann
+ */
+public final class BundleResourceResolver {
+
+	// Private Constants
+	private static final List<URL> NO_RESOURCES = Collections.emptyList();
+	private static final UTF8Control UTF8_CONTROL = new UTF8Control();
+
+	// Private Final Data Members
+	private final Cache<Locale, Cache<String, List<URL>>> bundleResourcesCaches;
+	private final CacheFactory cacheFactory;
+	private final Cache<String, List<URL>> resourceCache;
+
+	/**
+	 * Creates a new resolver.
+	 *
+	 * @param  cacheFactory  The factory of the caches of resolved resources (one for each locale, keyed by base name)
+	 *                       and of the cache of ClassLoader probes (keyed by resource name).
+	 */
+	public BundleResourceResolver(CacheFactory cacheFactory) {
+		this.cacheFactory = cacheFactory;
+		this.bundleResourcesCaches = cacheFactory.getConcurrentCache(16);
+		this.resourceCache = cacheFactory.getConcurrentCache(16);
+	}
+
+	/**
+	 * Returns the resolver of the current application, creating it if necessary. The resolver is stored in the
+	 * application map so that it is shared by all of the I18n implementations of the application.
+	 *
+	 * @param  externalContext  The external context associated with the current faces context.
+	 */
+	public static BundleResourceResolver getInstance(ExternalContext externalContext) {
+
+		Map<String, Object> applicationMap = externalContext.getApplicationMap();
+		String name = BundleResourceResolver.class.getName();
+		BundleResourceResolver bundleResourceResolver = (BundleResourceResolver) applicationMap.get(name);
+
+		if (bundleResourceResolver == null) {
+
+			CacheFactory cacheFactory = (CacheFactory) FactoryExtensionFinder.getFactory(externalContext,
+					CacheFactory.class);
+			bundleResourceResolver = new BundleResourceResolver(cacheFactory);
+
+			// If two threads race to create the resolver, then one of the two instances simply goes unused.
+			applicationMap.put(name, bundleResourceResolver);
+		}
+
+		return bundleResourceResolver;
+	}
+
+	/**
+	 * Returns an unmodifiable list of the URLs of the existing ".properties" resources of the specified resource bundle
+	 * for the specified locale. The list is ordered from the root locale to the most specific locale, so that the
+	 * messages of later resources replace the messages of earlier resources. If no resource exists for the locale (or
+	 * for any of its parent locales other than the root locale), then the resources of the fallback locale (the default
+	 * locale) are returned instead.
+	 *
+	 * @param  baseName     The base name of the resource bundle.
+	 * @param  locale       The locale of the resource bundle.
+	 * @param  classLoader  The ClassLoader used to find the resources.
+	 */
+	public List<URL> getBundleResources(String baseName, Locale locale, ClassLoader classLoader) {
+
+		Cache<String, List<URL>> bundleResourcesCache = bundleResourcesCaches.getValue(locale);
+
+		if (bundleResourcesCache == null) {
+
+			bundleResourcesCache = cacheFactory.getConcurrentCache(4);
+			bundleResourcesCache = bundleResourcesCaches.putValueIfAbsent(locale, bundleResourcesCache);
+		}
+
+		List<URL> bundleResources = bundleResourcesCache.getValue(baseName);
+
+		if (bundleResources == null) {
+
+			bundleResources = new ArrayList<URL>();
+
+			if (!addResources(bundleResources, baseName, locale, classLoader)) {
+
+				Locale fallbackLocale = UTF8_CONTROL.getFallbackLocale(baseName, locale);
+
+				if ((fallbackLocale != null) && !fallbackLocale.equals(locale)) {
+
+					List<URL> fallbackBundleResources = new ArrayList<URL>();
+
+					if (addResources(fallbackBundleResources, baseName, fallbackLocale, classLoader)) {
+						bundleResources = fallbackBundleResources;
+					}
+				}
+			}
+
+			bundleResources = bundleResourcesCache.putValueIfAbsent(baseName,
+					Collections.unmodifiableList(bundleResources));
+		}
+
+		return bundleResources;
+	}
+
+	private boolean addResources(List<URL> bundleResources, String baseName, Locale locale,
+		ClassLoader classLoader) {
+
+		boolean foundLocaleResource = false;
+		List<Locale> candidateLocales = UTF8_CONTROL.getCandidateLocales(baseName, locale);
+
+		// Candidate locales are ordered from the most specific locale to the root locale, so iterate in reverse order.
+		for (int i = candidateLocales.size() - 1; i >= 0; i--) {
+
+			Locale candidateLocale = candidateLocales.get(i);
+			String bundleName = UTF8_CONTROL.toBundleName(baseName, candidateLocale);
+			URL resource = getResource(UTF8_CONTROL.toResourceName(bundleName, "properties"), classLoader);
+
+			if (resource != null) {
+
+				bundleResources.add(resource);
+
+				if (!Locale.ROOT.equals(candidateLocale)) {
+					foundLocaleResource = true;
+				}
+			}
+		}
+
+		return foundLocaleResource;
+	}
+
+	private URL getResource(String resourceName, ClassLoader classLoader) {
+
+		List<URL> resource = resourceCache.getValue(resourceName);
+
+		if (resource == null) {
+
+			URL resourceURL = classLoader.getResource(resourceName);
+
+			if (resourceURL == null) {
+				resource = NO_RESOURCES;
+			}
+			else {
+				resource = Collections.singletonList(resourceURL);
+			}
+
+			resource = resourceCache.putValueIfAbsent(resourceName, resource);
+		}
+
+		if (resource.isEmpty()) {
+			return null;
+		}
+
+		return resource.get(0);
+	}
+}
@@ -0,0 +1,178 @@
+/**
+ * Copyright (c) 2000-2018 Liferay, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.liferay.faces.util.i18n.internal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.faces.context.ExternalContext;
+import javax.faces.context.FacesContext;
+import javax.faces.event.PhaseEvent;
+import javax.faces.event.PhaseId;
+import javax.faces.event.PhaseListener;
+
+import com.liferay.faces.util.cache.Cache;
+import com.liferay.faces.util.el.internal.I18nMap;
+import com.liferay.faces.util.i18n.I18n;
+import com.liferay.faces.util.i18n.I18nBundleBase;
+import com.liferay.faces.util.i18n.I18nFactory;
+import com.liferay.faces.util.i18n.MessageCatalog;
+import com.liferay.faces.util.logging.Logger;
+import com.liferay.faces.util.logging.LoggerFactory;
+
+
+/**
+ * This class is registered during application startup in the Development project stage in order to pick up changes to
+ * i18n ".properties" files without restarting the application. Before each request (at most once per second) the
+ * last-modified time of each resource backing a cached {@link MessageCatalog} is polled and compared with the time
+ * that was recorded when the catalog was loaded: files in exploded deployments are checked directly and resources
+ * inside jars are checked via the last-modified time of the jar. When a resource has been modified, only the affected
+ * catalogs and the message cache entries of the affected locales (in {@link I18nImpl}, in each {@link I18nBundleBase}
+ * of the same bundle, and in {@link I18nMap}) are invalidated so that they are reloaded on demand.
+ *
+ * @author  Kyle Stiemann
+ */
+public class I18nBundleReloader implements PhaseListener {
+
+	// serialVersionUID
+	private static final long serialVersionUID = 3298015477513623406L;
+
+	// Logger
+	private static final Logger logger = LoggerFactory.getLogger(I18nBundleReloader.class);
+
+	// Private Constants
+	private static final long CHECK_INTERVAL_MILLIS = 1000L;
+
+	// Private Data Members
+	private transient long nextCheckTime;
+
+	@SuppressWarnings("unchecked")
+	private static void removeLocaleValue(Map<String, Object> applicationMap, String name, Locale locale) {
+
+		Cache<Locale, ?> cache = (Cache<Locale, ?>) applicationMap.get(name);
+
+		if (cache != null) {
+			cache.removeValue(locale);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void removeMissingMessageCache(Map<String, Object> applicationMap, Locale locale,
+		String baseName) {
+
+		Cache<Locale, Cache<String, ?>> missingMessageCaches = (Cache<Locale, Cache<String, ?>>) applicationMap.get(
+				I18nImpl.MISSING_MESSAGE_CACHES);
+
+		if (missingMessageCaches != null) {
+
+			Cache<String, ?> localeMissingMessageCaches = missingMessageCaches.getValue(locale);
+
+			if (localeMissingMessageCaches != null) {
+				localeMissingMessageCaches.removeValue(baseName);
+			}
+		}
+	}
+
+	@Override
+	public void afterPhase(PhaseEvent phaseEvent) {
+		// no-op
+	}
+
+	@Override
+	public void beforePhase(PhaseEvent phaseEvent) {
+		reloadModifiedBundles(phaseEvent.getFacesContext());
+	}
+
+	@Override
+	public PhaseId getPhaseId() {
+		return PhaseId.RESTORE_VIEW;
+	}
+
+	@SuppressWarnings("unchecked")
+	private synchronized void reloadModifiedBundles(FacesContext facesContext) {
+
+		long currentTime = System.currentTimeMillis();
+
+		if (currentTime < nextCheckTime) {
+			return;
+		}
+
+		nextCheckTime = currentTime + CHECK_INTERVAL_MILLIS;
+
+		ExternalContext externalContext = facesContext.getExternalContext();
+		Map<String, Object> applicationMap = externalContext.getApplicationMap();
+		Cache<Locale, Cache<String, MessageCatalog>> messageCatalogCaches =
+			(Cache<Locale, Cache<String, MessageCatalog>>) applicationMap.get(I18nImpl.class.getName());
+
+		if (messageCatalogCaches == null) {
+			return;
+		}
+
+		// Since several catalogs may share the same resource (for example the root locale resource of a bundle),
+		// determine the last-modified time of each resource only once per check.
+		Map<String, Long> currentLastModifiedTimes = new HashMap<String, Long>();
+		List<MessageCatalog> modifiedMessageCatalogs = new ArrayList<MessageCatalog>();
+
+		for (Locale locale : messageCatalogCaches.getKeys()) {
+
+			Cache<String, MessageCatalog> messageCatalogCache = messageCatalogCaches.getValue(locale);
+
+			if (messageCatalogCache == null) {
+				continue;
+			}
+
+			for (String baseName : messageCatalogCache.getKeys()) {
+
+				MessageCatalog messageCatalog = messageCatalogCache.getValue(baseName);
+
+				// Each catalog records the last-modified times of its resources when it is loaded, so a modification
+				// made between loading the catalog and the first check is also detected.
+				if ((messageCatalog instanceof MessageCatalogImpl) &&
+						((MessageCatalogImpl) messageCatalog).isModified(currentLastModifiedTimes)) {
+
+					messageCatalogCache.removeValue(baseName);
+					modifiedMessageCatalogs.add(messageCatalog);
+				}
+			}
+		}
+
+		if (!modifiedMessageCatalogs.isEmpty()) {
+
+			I18n i18n = I18nFactory.getI18nInstance(externalContext);
+			List<I18nBundleBase> i18nBundleBases = I18nChainUtil.getI18nBundleBases(i18n);
+
+			for (MessageCatalog modifiedMessageCatalog : modifiedMessageCatalogs) {
+
+				String baseName = modifiedMessageCatalog.getBaseName();
+				Locale locale = modifiedMessageCatalog.getLocale();
+				logger.info("Reloading i18n bundle [{0}] for locale [{1}]", baseName, locale);
+				removeMissingMessageCache(applicationMap, locale, baseName);
+				removeLocaleValue(applicationMap, I18nMap.class.getName(), locale);
+
+				// The message caches of I18nBundleBase are stored in the application map under the name of the class.
+				for (I18nBundleBase i18nBundleBase : i18nBundleBases) {
+
+					if (baseName.equals(i18nBundleBase.getBundleKey())) {
+						removeLocaleValue(applicationMap, i18nBundleBase.getClass().getName(), locale);
+					}
+				}
+			}
+		}
+	}
+}
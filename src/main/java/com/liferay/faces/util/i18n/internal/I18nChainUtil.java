@@ -0,0 +1,61 @@
+/**
+ * Copyright (c) 2000-2018 Liferay, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.liferay.faces.util.i18n.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.faces.FacesWrapper;
+
+import com.liferay.faces.util.i18n.I18n;
+import com.liferay.faces.util.i18n.I18nBundleBase;
+
+
+/**
+ * @author  Kyle Stiemann
+ */
+final class I18nChainUtil {
+
+	private I18nChainUtil() {
+		throw new AssertionError();
+	}
+
+	/**
+	 * Returns the {@link I18nBundleBase} instances of the delegation chain that begins with the specified {@link I18n},
+	 * in delegation order.
+	 */
+	static List<I18nBundleBase> getI18nBundleBases(I18n i18n) {
+
+		List<I18nBundleBase> i18nBundleBases = new ArrayList<I18nBundleBase>();
+		Object current = i18n;
+
+		while (current instanceof I18n) {
+
+			if (current instanceof I18nBundleBase) {
+				i18nBundleBases.add((I18nBundleBase) current);
+			}
+
+			if (current instanceof FacesWrapper) {
+				current = ((FacesWrapper<?>) current).getWrapped();
+			}
+			else {
+				current = null;
+			}
+		}
+
+		return i18nBundleBases;
+	}
+}
@@ -16,11 +16,13 @@
 package com.liferay.faces.util.i18n.internal;
 
 import java.io.Serializable;
-import java.text.MessageFormat;
+import java.net.URL;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.MissingResourceException;
-import java.util.ResourceBundle;
 
 import javax.faces.application.Application;
 import javax.faces.application.FacesMessage;
@@ -32,6 +34,7 @@ import com.liferay.faces.util.cache.CacheFactory;
 import com.liferay.faces.util.config.WebConfigParam;
 import com.liferay.faces.util.i18n.I18n;
 import com.liferay.faces.util.i18n.I18nUtil;
+import com.liferay.faces.util.i18n.MessageCatalog;
 import com.liferay.faces.util.logging.Logger;
 import com.liferay.faces.util.logging.LoggerFactory;
 
@@ -47,34 +50,160 @@ public class I18nImpl implements I18n, Serializable {
 	// Logger
 	private static final Logger logger = LoggerFactory.getLogger(I18nImpl.class);
 
+	// Package-Private Constants
+	static final String I18N_BUNDLE = "i18n";
+	static final String MISSING_MESSAGE_CACHES = I18nImpl.class.getName() + ".missingMessageCaches";
+
+	// Private Constants
+	private static final int MISSING_MESSAGE_MAX_CACHE_CAPACITY = 1024;
+
 	public I18nImpl() {
 
 		// This class is instantiated by the I18nFactoryImpl class during application startup.
 		FacesContext startupFacesContext = FacesContext.getCurrentInstance();
 
-		// Store the resource bundle cache in the application map (as a Servlet Context attribute).
+		// Store the message catalog cache in the application map (as a Servlet Context attribute).
 		if (startupFacesContext != null) {
 
 			ExternalContext externalContext = startupFacesContext.getExternalContext();
-			Cache<Locale, ResourceBundle> facesResourceBundleCache;
-			int initialCacheCapacity = WebConfigParam.I18nInitialCacheCapacity.getIntegerValue(externalContext);
-			int maxCacheCapacity = WebConfigParam.I18nMaxCacheCapacity.getIntegerValue(externalContext);
+			Map<String, Object> applicationMap = externalContext.getApplicationMap();
+			// Store the message catalog caches (one for each locale, keyed by base name) in the application map so
+			// that a lookup does not need to build a key.
+			Cache<Locale, Cache<String, MessageCatalog>> messageCatalogCaches =
+				CacheFactory.getConcurrentCacheInstance(externalContext, 16);
+			applicationMap.put(I18nImpl.class.getName(), messageCatalogCaches);
+
+			// Store the caches of missing messages (one for each locale and bundle) in the application map.
+			Cache<Locale, Cache<String, Cache<String, Boolean>>> missingMessageCaches =
+				CacheFactory.getConcurrentCacheInstance(externalContext, 16);
+			applicationMap.put(MISSING_MESSAGE_CACHES, missingMessageCaches);
+		}
+		else {
+			logger.error("Unable to store the message catalog cache in the application map");
+		}
+	}
+
+	private static String getBundleMessage(MessageCatalog messageCatalog, Cache<String, Boolean> missingMessageCache,
+		String messageId) {
+
+		String message = null;
+
+		// If the message is already known to be missing from the bundle, then there is no need to probe the bundle
+		// again.
+		if ((missingMessageCache == null) || (missingMessageCache.getValue(messageId) == null)) {
+
+			message = messageCatalog.getMessage(messageId);
 
-			if (maxCacheCapacity > -1) {
-				facesResourceBundleCache = CacheFactory.getConcurrentLRUCacheInstance(externalContext,
-						initialCacheCapacity, maxCacheCapacity);
+			if ((message == null) && (missingMessageCache != null)) {
+				missingMessageCache.putValueIfAbsent(messageId, Boolean.TRUE);
 			}
-			else {
-				facesResourceBundleCache = CacheFactory.getConcurrentCacheInstance(externalContext,
-						initialCacheCapacity);
+		}
+
+		return message;
+	}
+
+	private static String getMessageBundle(FacesContext facesContext) {
+
+		Application application = facesContext.getApplication();
+		String messageBundle = application.getMessageBundle();
+
+		if (messageBundle == null) {
+			messageBundle = FacesMessage.FACES_MESSAGES;
+		}
+
+		return messageBundle;
+	}
+
+	/**
+	 * Returns the cached message catalog of the specified bundle and locale, loading it if necessary. Since this method
+	 * only requires the application map, it may be called from threads that do not have a current faces context.
+	 */
+	@SuppressWarnings("unchecked")
+	static MessageCatalog getMessageCatalog(ExternalContext externalContext, Locale locale, String baseName,
+		ClassLoader classLoader) {
+
+		Map<String, Object> applicationMap = externalContext.getApplicationMap();
+		Cache<Locale, Cache<String, MessageCatalog>> messageCatalogCaches =
+			(Cache<Locale, Cache<String, MessageCatalog>>) applicationMap.get(I18nImpl.class.getName());
+		Cache<String, MessageCatalog> messageCatalogCache = null;
+		MessageCatalog messageCatalog = null;
+
+		if (messageCatalogCaches != null) {
+
+			messageCatalogCache = messageCatalogCaches.getValue(locale);
+
+			if (messageCatalogCache == null) {
+
+				messageCatalogCache = newMessageCatalogCache(externalContext);
+				messageCatalogCache = messageCatalogCaches.putValueIfAbsent(locale, messageCatalogCache);
 			}
 
-			Map<String, Object> applicationMap = externalContext.getApplicationMap();
-			applicationMap.put(I18nImpl.class.getName(), facesResourceBundleCache);
+			messageCatalog = messageCatalogCache.getValue(baseName);
+		}
+
+		if (messageCatalog == null) {
+
+			BundleResourceResolver bundleResourceResolver = BundleResourceResolver.getInstance(externalContext);
+			List<URL> bundleResources = bundleResourceResolver.getBundleResources(baseName, locale, classLoader);
+			messageCatalog = MessageCatalogImpl.newInstance(baseName, locale, bundleResources);
+
+			if (messageCatalogCache != null) {
+				messageCatalog = messageCatalogCache.putValueIfAbsent(baseName, messageCatalog);
+			}
+		}
+
+		return messageCatalog;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Cache<String, Boolean> getMissingMessageCache(ExternalContext externalContext, Locale locale,
+		String baseName) {
+
+		Map<String, Object> applicationMap = externalContext.getApplicationMap();
+		Cache<Locale, Cache<String, Cache<String, Boolean>>> missingMessageCaches =
+			(Cache<Locale, Cache<String, Cache<String, Boolean>>>) applicationMap.get(MISSING_MESSAGE_CACHES);
+		Cache<String, Boolean> missingMessageCache = null;
+
+		if (missingMessageCaches != null) {
+
+			Cache<String, Cache<String, Boolean>> localeMissingMessageCaches = missingMessageCaches.getValue(locale);
+
+			if (localeMissingMessageCaches == null) {
+
+				localeMissingMessageCaches = CacheFactory.getConcurrentCacheInstance(externalContext, 4);
+				localeMissingMessageCaches = missingMessageCaches.putValueIfAbsent(locale, localeMissingMessageCaches);
+			}
+
+			missingMessageCache = localeMissingMessageCaches.getValue(baseName);
+
+			if (missingMessageCache == null) {
+
+				// The number of distinct missing message ids is bounded by the application, but since the ids might
+				// be provided by users (for example via EL) the cache is bounded by an LRU algorithm.
+				missingMessageCache = CacheFactory.getConcurrentLRUCacheInstance(externalContext, 16,
+						MISSING_MESSAGE_MAX_CACHE_CAPACITY);
+				missingMessageCache = localeMissingMessageCaches.putValueIfAbsent(baseName, missingMessageCache);
+			}
+		}
+
+		return missingMessageCache;
+	}
+
+	private static Cache<String, MessageCatalog> newMessageCatalogCache(ExternalContext externalContext) {
+
+		Cache<String, MessageCatalog> messageCatalogCache;
+		int initialCacheCapacity = WebConfigParam.I18nInitialCacheCapacity.getIntegerValue(externalContext);
+		int maxCacheCapacity = WebConfigParam.I18nMaxCacheCapacity.getIntegerValue(externalContext);
+
+		if (maxCacheCapacity > -1) {
+			messageCatalogCache = CacheFactory.getConcurrentLRUCacheInstance(externalContext, initialCacheCapacity,
+					maxCacheCapacity);
 		}
 		else {
-			logger.error("Unable to store the resource bundle cache in the application map");
+			messageCatalogCache = CacheFactory.getConcurrentCacheInstance(externalContext, initialCacheCapacity);
 		}
+
+		return messageCatalogCache;
 	}
 
 	@Override
@@ -97,30 +226,19 @@ public class I18nImpl implements I18n, Serializable {
 	@Override
 	public String getMessage(FacesContext facesContext, Locale locale, String messageId, Object... arguments) {
 
-		String message = null;
-
-		try {
-			ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
-			ResourceBundle resourceBundle = ResourceBundle.getBundle("i18n", locale, classLoader, new UTF8Control());
-			message = resourceBundle.getString(messageId);
-		}
-		catch (MissingResourceException e) {
-			// ignore
+		if (locale == null) {
+			locale = Locale.getDefault();
 		}
 
-		if (message == null) {
-
-			ResourceBundle facesResourceBundle = getFacesResourceBundle(facesContext, locale);
+		ExternalContext externalContext = facesContext.getExternalContext();
+		String message = getBundleMessage(getMessageCatalog(facesContext, locale, I18N_BUNDLE),
+				getMissingMessageCache(externalContext, locale, I18N_BUNDLE), messageId);
 
-			if (facesResourceBundle != null) {
+		if (message == null) {
 
-				try {
-					message = facesResourceBundle.getString(messageId);
-				}
-				catch (MissingResourceException e) {
-					// ignore
-				}
-			}
+			String messageBundle = getMessageBundle(facesContext);
+			message = getBundleMessage(getMessageCatalog(facesContext, locale, messageBundle),
+					getMissingMessageCache(externalContext, locale, messageBundle), messageId);
 		}
 
 		if (message == null) {
@@ -129,43 +247,56 @@ public class I18nImpl implements I18n, Serializable {
 		else {
 
 			if ((arguments != null) && (arguments.length > 0)) {
-				message = MessageFormat.format(message, arguments);
+				message = MessageTemplate.format(message, arguments);
 			}
 		}
 
 		return message;
 	}
 
-	private ResourceBundle getFacesResourceBundle(FacesContext facesContext, Locale locale) {
+	@Override
+	public MessageCatalog getMessageCatalog(FacesContext facesContext, Locale locale, String baseName) {
 
-		ExternalContext externalContext = facesContext.getExternalContext();
-		Map<String, Object> applicationMap = externalContext.getApplicationMap();
-		Cache<Locale, ResourceBundle> facesResourceBundleCache = (Cache<Locale, ResourceBundle>) applicationMap.get(
-				I18nImpl.class.getName());
+		if (locale == null) {
+			locale = Locale.getDefault();
+		}
 
-		ResourceBundle facesResourceBundle = null;
+		return getMessageCatalog(facesContext.getExternalContext(), locale, baseName,
+				Thread.currentThread().getContextClassLoader());
+	}
+
+	@Override
+	public Map<String, String> getMessages(FacesContext facesContext, Locale locale, Collection<String> messageIds) {
 
-		if (facesResourceBundleCache != null) {
-			facesResourceBundle = facesResourceBundleCache.getValue(locale);
+		if (locale == null) {
+			locale = Locale.getDefault();
 		}
 
-		if (facesResourceBundle == null) {
+		// Resolve the catalogs and the caches of missing messages once for all of the messages.
+		ExternalContext externalContext = facesContext.getExternalContext();
+		String messageBundle = getMessageBundle(facesContext);
+		MessageCatalog i18nMessageCatalog = getMessageCatalog(facesContext, locale, I18N_BUNDLE);
+		Cache<String, Boolean> i18nMissingMessageCache = getMissingMessageCache(externalContext, locale, I18N_BUNDLE);
+		MessageCatalog facesMessageCatalog = getMessageCatalog(facesContext, locale, messageBundle);
+		Cache<String, Boolean> facesMissingMessageCache = getMissingMessageCache(externalContext, locale,
+				messageBundle);
+		Map<String, String> messages = new LinkedHashMap<String, String>((messageIds.size() * 4 / 3) + 1);
 
-			Application application = facesContext.getApplication();
-			String messageBundle = application.getMessageBundle();
+		for (String messageId : messageIds) {
 
-			if (messageBundle == null) {
-				messageBundle = FacesMessage.FACES_MESSAGES;
-			}
+			String message = getBundleMessage(i18nMessageCatalog, i18nMissingMessageCache, messageId);
 
-			ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
-			facesResourceBundle = ResourceBundle.getBundle(messageBundle, locale, classLoader, new UTF8Control());
+			if (message == null) {
+				message = getBundleMessage(facesMessageCatalog, facesMissingMessageCache, messageId);
+			}
 
-			if (facesResourceBundleCache != null) {
-				facesResourceBundle = facesResourceBundleCache.putValueIfAbsent(locale, facesResourceBundle);
+			if (message == null) {
+				message = messageId;
 			}
+
+			messages.put(messageId, message);
 		}
 
-		return facesResourceBundle;
+		return Collections.unmodifiableMap(messages);
 	}
 }
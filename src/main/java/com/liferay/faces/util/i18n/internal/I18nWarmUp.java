@@ -0,0 +1,184 @@
+/**
+ * Copyright (c) 2000-2018 Liferay, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.liferay.faces.util.i18n.internal;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.faces.application.Application;
+import javax.faces.application.FacesMessage;
+import javax.faces.context.ExternalContext;
+import javax.faces.context.FacesContext;
+
+import com.liferay.faces.util.el.internal.I18nMap;
+import com.liferay.faces.util.i18n.I18n;
+import com.liferay.faces.util.i18n.I18nBundleBase;
+import com.liferay.faces.util.i18n.I18nFactory;
+import com.liferay.faces.util.i18n.MessageCatalog;
+import com.liferay.faces.util.logging.Logger;
+import com.liferay.faces.util.logging.LoggerFactory;
+
+
+/**
+ * This class loads the i18n resource bundles and populates the i18n message caches during application startup so that
+ * the first request in each locale does not pay for bundle loading. The message catalogs of each (locale, bundle) pair
+ * are loaded in parallel, after which the message caches of {@link I18nBundleBase} and {@link I18nMap} are populated
+ * from the (now cached) catalogs on the calling thread.
+ *
+ * @author  Kyle Stiemann
+ */
+public final class I18nWarmUp {
+
+	// Logger
+	private static final Logger logger = LoggerFactory.getLogger(I18nWarmUp.class);
+
+	private I18nWarmUp() {
+		throw new AssertionError();
+	}
+
+	/**
+	 * Loads the resource bundles of the {@link I18n} delegation chain for the default locale and each supported locale
+	 * of the application and populates the message caches. This method blocks until all of the bundles have been
+	 * loaded.
+	 *
+	 * @param  facesContext  The faces context of application startup.
+	 */
+	public static void warmUp(FacesContext facesContext) {
+
+		long startTime = System.currentTimeMillis();
+		Application application = facesContext.getApplication();
+		Set<Locale> locales = new LinkedHashSet<Locale>();
+		Locale defaultLocale = application.getDefaultLocale();
+
+		if (defaultLocale == null) {
+			defaultLocale = Locale.getDefault();
+		}
+
+		locales.add(defaultLocale);
+
+		Iterator<Locale> supportedLocales = application.getSupportedLocales();
+
+		if (supportedLocales != null) {
+
+			while (supportedLocales.hasNext()) {
+				locales.add(supportedLocales.next());
+			}
+		}
+
+		String messageBundle = application.getMessageBundle();
+
+		if (messageBundle == null) {
+			messageBundle = FacesMessage.FACES_MESSAGES;
+		}
+
+		Set<String> baseNames = new LinkedHashSet<String>();
+		baseNames.add(I18nImpl.I18N_BUNDLE);
+		baseNames.add(messageBundle);
+
+		// Walk the delegation chain in order to find the bundles introduced by I18nBundleBase subclasses.
+		final ExternalContext externalContext = facesContext.getExternalContext();
+		I18n i18n = I18nFactory.getI18nInstance(externalContext);
+		List<I18nBundleBase> i18nBundleBases = I18nChainUtil.getI18nBundleBases(i18n);
+
+		for (I18nBundleBase i18nBundleBase : i18nBundleBases) {
+			baseNames.add(i18nBundleBase.getBundleKey());
+		}
+
+		// Load the message catalogs of I18nImpl in parallel. Since there is no current faces context on the worker
+		// threads, the I18n delegation chain (which may contain third-party wrappers that call
+		// FacesContext.getCurrentInstance()) is not called from them. Instead the catalogs are loaded directly into the
+		// cache of I18nImpl which only requires the (thread-safe) application map.
+		final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+		List<Callable<MessageCatalog>> tasks = new ArrayList<Callable<MessageCatalog>>();
+
+		for (final Locale locale : locales) {
+
+			for (final String baseName : baseNames) {
+
+				tasks.add(new Callable<MessageCatalog>() {
+						@Override
+						public MessageCatalog call() throws Exception {
+							return I18nImpl.getMessageCatalog(externalContext, locale, baseName, classLoader);
+						}
+					});
+			}
+		}
+
+		int threads = Math.min(tasks.size(), Runtime.getRuntime().availableProcessors());
+		ExecutorService executorService = Executors.newFixedThreadPool(threads);
+
+		try {
+
+			for (Future<MessageCatalog> future : executorService.invokeAll(tasks)) {
+
+				try {
+					future.get();
+				}
+				catch (ExecutionException e) {
+					logger.error(e.getCause());
+				}
+			}
+		}
+		catch (InterruptedException e) {
+
+			logger.error(e);
+			Thread.currentThread().interrupt();
+
+			return;
+		}
+		finally {
+			executorService.shutdown();
+		}
+
+		// Populate the message caches from the cached catalogs on the calling thread, which has a current faces
+		// context.
+		for (Locale locale : locales) {
+
+			Set<String> messageIds = new HashSet<String>();
+
+			for (String baseName : baseNames) {
+
+				MessageCatalog messageCatalog = i18n.getMessageCatalog(facesContext, locale, baseName);
+				messageIds.addAll(messageCatalog.getMessageIds());
+			}
+
+			for (I18nBundleBase i18nBundleBase : i18nBundleBases) {
+
+				MessageCatalog messageCatalog = i18n.getMessageCatalog(facesContext, locale,
+						i18nBundleBase.getBundleKey());
+
+				for (String messageId : messageCatalog.getMessageIds()) {
+					i18nBundleBase.getMessage(facesContext, locale, messageId);
+				}
+			}
+
+			I18nMap.populateMessageCache(facesContext, locale, messageIds);
+		}
+
+		logger.debug("Loaded [{0}] i18n bundles for [{1}] locales in [{2}]ms", baseNames.size(), locales.size(),
+			System.currentTimeMillis() - startTime);
+	}
+}
@@ -0,0 +1,249 @@
+/**
+ * Copyright (c) 2000-2018 Liferay, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.liferay.faces.util.i18n.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import com.liferay.faces.util.i18n.MessageCatalog;
+import com.liferay.faces.util.internal.CloseableUtil;
+import com.liferay.faces.util.internal.ResourceFileUtil;
+import com.liferay.faces.util.logging.Logger;
+import com.liferay.faces.util.logging.LoggerFactory;
+
+
+/**
+ * This class provides a compact, immutable implementation of {@link MessageCatalog}. The UTF-8 encoded ".properties"
+ * resources of the locale and all of its parent locales (as resolved by {@link BundleResourceResolver}) are read once
+ * and flattened into an open-addressing table of parallel arrays (message ids, messages and precomputed hash codes). In
+ * contrast to {@link java.util.PropertyResourceBundle}, there is no per-entry object overhead, no parent chain to walk
+ * on a miss, and no synchronized JDK bundle cache to consult on every lookup.
+ *
+ * @author  Kyle Stiemann
+ */
+public final class MessageCatalogImpl implements MessageCatalog {
+
+	// Logger
+	private static final Logger logger = LoggerFactory.getLogger(MessageCatalogImpl.class);
+
+	// Private Final Data Members
+	private final String baseName;
+	private final URL[] bundleResources;
+	private final int[] hashCodes;
+	private final long[] lastModifiedTimes;
+	private final Locale locale;
+	private final String[] messageIds;
+	private final String[] messages;
+	private final int size;
+
+	private MessageCatalogImpl(String baseName, Locale locale, Map<String, String> messageMap, URL[] bundleResources,
+		long[] lastModifiedTimes) {
+
+		this.baseName = baseName;
+		this.locale = locale;
+		this.size = messageMap.size();
+		this.bundleResources = bundleResources;
+		this.lastModifiedTimes = lastModifiedTimes;
+
+		// Keep the load factor at or below one half so that probe sequences remain short and so that there is always
+		// at least one empty slot to terminate a probe sequence.
+		int capacity = 2;
+
+		while (capacity < (size * 2)) {
+			capacity = capacity << 1;
+		}
+
+		this.hashCodes = new int[capacity];
+		this.messageIds = new String[capacity];
+		this.messages = new String[capacity];
+
+		int mask = capacity - 1;
+
+		for (Map.Entry<String, String> entry : messageMap.entrySet()) {
+
+			String messageId = entry.getKey();
+			int hashCode = messageId.hashCode();
+			int index = spread(hashCode) & mask;
+
+			while (messageIds[index] != null) {
+				index = (index + 1) & mask;
+			}
+
+			hashCodes[index] = hashCode;
+			messageIds[index] = messageId;
+			messages[index] = entry.getValue();
+		}
+	}
+
+	/**
+	 * Loads the messages of the specified resource bundle for the specified locale from the specified resources. If the
+	 * list of resources is empty, then an empty catalog is returned.
+	 *
+	 * @param  baseName         The base name of the resource bundle.
+	 * @param  locale           The locale of the catalog.
+	 * @param  bundleResources  The URLs of the ".properties" resources of the bundle, ordered from the root locale to
+	 *                          the most specific locale (see {@link BundleResourceResolver#getBundleResources(String,
+	 *                          Locale, ClassLoader)}).
+	 */
+	public static MessageCatalog newInstance(String baseName, Locale locale, List<URL> bundleResources) {
+
+		Map<String, String> messageMap = new HashMap<String, String>();
+		URL[] bundleResourceArray = bundleResources.toArray(new URL[bundleResources.size()]);
+		long[] lastModifiedTimes = new long[bundleResourceArray.length];
+
+		// Messages of more specific locales replace the messages of their parents.
+		for (int i = 0; i < bundleResourceArray.length; i++) {
+
+			URL bundleResource = bundleResourceArray[i];
+			InputStream inputStream = null;
+
+			// Record the last-modified time before reading the resource so that a modification made while (or after)
+			// the resource is read is detected by isModified(Map).
+			lastModifiedTimes[i] = ResourceFileUtil.getLastModified(bundleResource);
+
+			try {
+
+				// Disable URL caching so that a modified resource inside a jar is not read from a stale cached JarFile.
+				URLConnection urlConnection = bundleResource.openConnection();
+				urlConnection.setUseCaches(false);
+				inputStream = urlConnection.getInputStream();
+
+				Properties properties = new Properties();
+				properties.load(new InputStreamReader(inputStream, "UTF-8"));
+
+				for (String messageId : properties.stringPropertyNames()) {
+					messageMap.put(messageId, properties.getProperty(messageId));
+				}
+			}
+			catch (IOException e) {
+				logger.error(e);
+			}
+			finally {
+				CloseableUtil.close(inputStream);
+			}
+		}
+
+		return new MessageCatalogImpl(baseName, locale, messageMap, bundleResourceArray, lastModifiedTimes);
+	}
+
+	private static int spread(int hashCode) {
+
+		// Mix the high bits into the low bits since the table index is computed by masking the low bits.
+		return hashCode ^ (hashCode >>> 16);
+	}
+
+	@Override
+	public String getBaseName() {
+		return baseName;
+	}
+
+	@Override
+	public Locale getLocale() {
+		return locale;
+	}
+
+	@Override
+	public String getMessage(String messageId) {
+
+		if (messageId == null) {
+			return null;
+		}
+
+		int hashCode = messageId.hashCode();
+		int mask = messageIds.length - 1;
+		int index = spread(hashCode) & mask;
+		String key;
+
+		while ((key = messageIds[index]) != null) {
+
+			if ((hashCodes[index] == hashCode) && key.equals(messageId)) {
+				return messages[index];
+			}
+
+			index = (index + 1) & mask;
+		}
+
+		return null;
+	}
+
+	@Override
+	public Set<String> getMessageIds() {
+
+		Set<String> messageIdSet = new HashSet<String>(size * 2);
+
+		for (String messageId : messageIds) {
+
+			if (messageId != null) {
+				messageIdSet.add(messageId);
+			}
+		}
+
+		return Collections.unmodifiableSet(messageIdSet);
+	}
+
+	@Override
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	 * Returns true if any of the resources that this catalog was loaded from has been modified since the catalog was
+	 * loaded. Resources whose last-modified time is unknown (for example resources that are not backed by a file) are
+	 * never considered to be modified.
+	 *
+	 * @param  currentLastModifiedTimes  The current last-modified time of each resource, keyed by the external form of
+	 *                                   its URL. Resources that are missing from the map are looked up and added to
+	 *                                   it so that the map can be shared by several catalogs which share resources.
+	 */
+	public boolean isModified(Map<String, Long> currentLastModifiedTimes) {
+
+		boolean modified = false;
+
+		for (int i = 0; i < bundleResources.length; i++) {
+
+			String resource = bundleResources[i].toExternalForm();
+			Long currentLastModified = currentLastModifiedTimes.get(resource);
+
+			if (currentLastModified == null) {
+
+				currentLastModified = ResourceFileUtil.getLastModified(bundleResources[i]);
+				currentLastModifiedTimes.put(resource, currentLastModified);
+			}
+
+			if ((lastModifiedTimes[i] != 0L) && (currentLastModified != lastModifiedTimes[i])) {
+				modified = true;
+			}
+		}
+
+		return modified;
+	}
+
+	@Override
+	public String toString() {
+		return baseName + "_" + locale;
+	}
+}
@@ -0,0 +1,236 @@
+/**
+ * Copyright (c) 2000-2018 Liferay, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.liferay.faces.util.i18n.internal;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * This class represents a compiled, immutable {@link MessageFormat} pattern. Patterns that only contain simple
+ * <code>{n}</code> placeholders (no quotes and no format types or styles) are compiled into an array of literal
+ * segments and argument indexes so that formatting only requires appending to a single presized {@link StringBuilder}.
+ * All other patterns (and simple patterns that are formatted with {@link Number} or {@link Date} arguments, which
+ * must be formatted according to the default locale) are compiled into a {@link MessageFormat} which is reused rather
+ * than being re-parsed on every call. In all cases the result is identical to calling {@link
+ * MessageFormat#format(String, Object...)}.
+ *
+ * @author  Kyle Stiemann
+ */
+public final class MessageTemplate {
+
+	// Private Constants
+	private static final int MAX_CACHE_CAPACITY = 1024;
+	private static final ConcurrentHashMap<String, MessageTemplate> MESSAGE_TEMPLATE_CACHE =
+		new ConcurrentHashMap<String, MessageTemplate>();
+
+	// Private Final Data Members
+	private final int[] argumentIndexes;
+	private final int literalLength;
+	private final String[] literals;
+	private final String pattern;
+
+	// Private Data Members
+	private volatile MessageFormat messageFormat;
+
+	private MessageTemplate(String pattern, String[] literals, int[] argumentIndexes, int literalLength) {
+		this.pattern = pattern;
+		this.literals = literals;
+		this.argumentIndexes = argumentIndexes;
+		this.literalLength = literalLength;
+	}
+
+	private MessageTemplate(String pattern, MessageFormat messageFormat) {
+		this.pattern = pattern;
+		this.literals = null;
+		this.argumentIndexes = null;
+		this.literalLength = 0;
+		this.messageFormat = messageFormat;
+	}
+
+	/**
+	 * Formats the specified pattern with the specified arguments. The result is identical to calling {@link
+	 * MessageFormat#format(String, Object...)}, but the compiled pattern is cached so that it is only parsed once.
+	 *
+	 * @param  pattern    The {@link MessageFormat} pattern.
+	 * @param  arguments  The values that are to be inserted according to the pattern.
+	 */
+	public static String format(String pattern, Object... arguments) {
+		return getInstance(pattern).format(arguments);
+	}
+
+	/**
+	 * Returns the compiled template of the specified pattern. Compiled templates are cached until the maximum cache
+	 * capacity has been reached, after which templates are compiled on demand without being cached.
+	 *
+	 * @param  pattern  The {@link MessageFormat} pattern.
+	 */
+	public static MessageTemplate getInstance(String pattern) {
+
+		MessageTemplate messageTemplate = MESSAGE_TEMPLATE_CACHE.get(pattern);
+
+		if (messageTemplate == null) {
+
+			messageTemplate = compile(pattern);
+
+			if (MESSAGE_TEMPLATE_CACHE.size() < MAX_CACHE_CAPACITY) {
+
+				MessageTemplate existingMessageTemplate = MESSAGE_TEMPLATE_CACHE.putIfAbsent(pattern, messageTemplate);
+
+				if (existingMessageTemplate != null) {
+					messageTemplate = existingMessageTemplate;
+				}
+			}
+		}
+
+		return messageTemplate;
+	}
+
+	private static MessageTemplate compile(String pattern) {
+
+		List<String> literals = new ArrayList<String>();
+		List<Integer> argumentIndexes = new ArrayList<Integer>();
+		int literalLength = 0;
+		int literalStart = 0;
+		int length = pattern.length();
+		int i = 0;
+
+		while (i < length) {
+
+			char c = pattern.charAt(i);
+
+			// Quotes change the meaning of the characters that follow them, so patterns containing quotes are not
+			// simple.
+			if (c == '\'') {
+				return new MessageTemplate(pattern, new MessageFormat(pattern));
+			}
+			else if (c == '{') {
+
+				int argumentIndex = 0;
+				int digits = 0;
+				int j = i + 1;
+
+				while ((j < length) && Character.isDigit(pattern.charAt(j))) {
+					argumentIndex = (argumentIndex * 10) + Character.digit(pattern.charAt(j), 10);
+					digits++;
+					j++;
+				}
+
+				// If the placeholder is anything other than {n} (for example {0,number,#.##}), then the pattern is not
+				// simple. Invalid patterns are also handed to MessageFormat so that it can throw the appropriate
+				// exception.
+				if ((digits == 0) || (digits > 9) || (j >= length) || (pattern.charAt(j) != '}')) {
+					return new MessageTemplate(pattern, new MessageFormat(pattern));
+				}
+
+				String literal = pattern.substring(literalStart, i);
+				literals.add(literal);
+				literalLength += literal.length();
+				argumentIndexes.add(argumentIndex);
+				i = j + 1;
+				literalStart = i;
+			}
+			else {
+				i++;
+			}
+		}
+
+		String literal = pattern.substring(literalStart);
+		literals.add(literal);
+		literalLength += literal.length();
+
+		int[] argumentIndexArray = new int[argumentIndexes.size()];
+
+		for (int k = 0; k < argumentIndexArray.length; k++) {
+			argumentIndexArray[k] = argumentIndexes.get(k);
+		}
+
+		return new MessageTemplate(pattern, literals.toArray(new String[literals.size()]), argumentIndexArray,
+				literalLength);
+	}
+
+	/**
+	 * Formats this template with the specified arguments.
+	 *
+	 * @param  arguments  The values that are to be inserted according to the pattern.
+	 */
+	public String format(Object... arguments) {
+
+		if (literals == null) {
+			return formatMessageFormat(arguments);
+		}
+
+		if (argumentIndexes.length == 0) {
+			return literals[0];
+		}
+
+		StringBuilder buf = new StringBuilder(literalLength + (argumentIndexes.length * 16));
+
+		for (int i = 0; i < argumentIndexes.length; i++) {
+
+			buf.append(literals[i]);
+
+			int argumentIndex = argumentIndexes[i];
+
+			if ((arguments == null) || (argumentIndex >= arguments.length)) {
+				buf.append('{').append(argumentIndex).append('}');
+			}
+			else {
+
+				Object argument = arguments[argumentIndex];
+
+				// Numbers and dates are formatted according to the default locale by MessageFormat, so defer to it in
+				// order to produce an identical result.
+				if ((argument instanceof Number) || (argument instanceof Date)) {
+					return formatMessageFormat(arguments);
+				}
+
+				buf.append(argument);
+			}
+		}
+
+		buf.append(literals[argumentIndexes.length]);
+
+		return buf.toString();
+	}
+
+	@Override
+	public String toString() {
+		return pattern;
+	}
+
+	private String formatMessageFormat(Object[] arguments) {
+
+		// MessageFormat.format(String, Object...) uses the default locale at the time of the call, so the compiled
+		// MessageFormat is only reused while the default locale remains unchanged.
+		MessageFormat messageFormat = this.messageFormat;
+
+		if ((messageFormat == null) || !Locale.getDefault().equals(messageFormat.getLocale())) {
+
+			messageFormat = new MessageFormat(pattern);
+			this.messageFormat = messageFormat;
+		}
+
+		// MessageFormat is not thread-safe.
+		synchronized (messageFormat) {
+			return messageFormat.format(arguments);
+		}
+	}
+}
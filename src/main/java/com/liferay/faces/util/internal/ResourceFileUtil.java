@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) 2000-2018 Liferay, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.liferay.faces.util.internal;
+
+import java.io.File;
+import java.io.UnsupportedEncodingException;
+import java.net.URL;
+import java.net.URLDecoder;
+
+import com.liferay.faces.util.logging.Logger;
+import com.liferay.faces.util.logging.LoggerFactory;
+
+
+/**
+ * @author  Kyle Stiemann
+ */
+public final class ResourceFileUtil {
+
+	// Logger
+	private static final Logger logger = LoggerFactory.getLogger(ResourceFileUtil.class);
+
+	private ResourceFileUtil() {
+		throw new AssertionError();
+	}
+
+	/**
+	 * Returns the file that contains the resource of the specified URL: the file itself for "file:" URLs and the jar
+	 * file for "jar:file:" URLs. Returns null for all other URLs.
+	 */
+	public static File getFile(URL url) {
+
+		File file = null;
+		String protocol = url.getProtocol();
+		String path = url.getPath();
+
+		// URLs of resources inside jars look like jar:file:/path/to/file.jar!/path/to/resource
+		if ("jar".equals(protocol) && path.startsWith("file:")) {
+
+			int pos = path.indexOf("!/");
+
+			if (pos > 0) {
+				path = path.substring("file:".length(), pos);
+				protocol = "file";
+			}
+		}
+
+		if ("file".equals(protocol)) {
+
+			try {
+				file = new File(URLDecoder.decode(path, "UTF-8"));
+			}
+			catch (UnsupportedEncodingException e) {
+				logger.error(e);
+			}
+		}
+
+		return file;
+	}
+
+	/**
+	 * Returns the last-modified time of the file that contains the resource of the specified URL (see {@link
+	 * #getFile(URL)}), or 0 if the file is unknown or does not exist.
+	 */
+	public static long getLastModified(URL url) {
+
+		long lastModified = 0L;
+		File file = getFile(url);
+
+		if (file != null) {
+			lastModified = file.lastModified();
+		}
+
+		return lastModified;
+	}
+}
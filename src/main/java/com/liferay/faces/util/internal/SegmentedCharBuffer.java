@@ -0,0 +1,209 @@
+/**
+ * Copyright (c) 2000-2018 Liferay, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.liferay.faces.util.internal;
+
+import java.io.IOException;
+import java.io.Writer;
+
+
+/**
+ * This class is an unsynchronized {@link Writer} that buffers characters in a list of fixed segments. Unlike {@link
+ * java.io.StringWriter} (which is backed by a synchronized {@link StringBuffer}), growing the buffer never copies the
+ * characters that have already been written and the buffered characters can be written to another {@link Writer}
+ * without first being converted to a {@link String}. After {@link #reset()} the first segment is reused.
+ *
+ * @author  Kyle Stiemann
+ */
+public final class SegmentedCharBuffer extends Writer {
+
+	// Private Constants
+	private static final int INITIAL_SEGMENT_CAPACITY = 256;
+	private static final int MAX_SEGMENT_CAPACITY = 8192;
+
+	// Private Data Members
+	private char[] currentSegment;
+	private int currentSegmentLength;
+	private int length;
+	private int segmentCount;
+	private char[][] segments;
+
+	public SegmentedCharBuffer() {
+
+		this.currentSegment = new char[INITIAL_SEGMENT_CAPACITY];
+		this.segments = new char[4][];
+		this.segments[0] = currentSegment;
+		this.segmentCount = 1;
+	}
+
+	@Override
+	public void close() {
+		// no-op
+	}
+
+	@Override
+	public void flush() {
+		// no-op
+	}
+
+	/**
+	 * Returns the same value as <code>toString().hashCode()</code> without converting the buffered characters to a
+	 * {@link String}.
+	 */
+	public int contentHashCode() {
+
+		int hashCode = 0;
+
+		for (int i = 0; i < segmentCount; i++) {
+
+			char[] segment = segments[i];
+			int segmentLength = getSegmentLength(i);
+
+			for (int j = 0; j < segmentLength; j++) {
+				hashCode = (31 * hashCode) + segment[j];
+			}
+		}
+
+		return hashCode;
+	}
+
+	/**
+	 * Returns the number of buffered characters.
+	 */
+	public int length() {
+		return length;
+	}
+
+	/**
+	 * Discards the buffered characters. The first segment is retained so that it can be reused.
+	 */
+	public void reset() {
+
+		for (int i = 1; i < segmentCount; i++) {
+			segments[i] = null;
+		}
+
+		currentSegment = segments[0];
+		currentSegmentLength = 0;
+		length = 0;
+		segmentCount = 1;
+	}
+
+	@Override
+	public String toString() {
+
+		char[] chars = new char[length];
+		int offset = 0;
+
+		for (int i = 0; i < segmentCount; i++) {
+
+			int segmentLength = getSegmentLength(i);
+			System.arraycopy(segments[i], 0, chars, offset, segmentLength);
+			offset += segmentLength;
+		}
+
+		return new String(chars);
+	}
+
+	@Override
+	public void write(int c) {
+
+		if (currentSegmentLength == currentSegment.length) {
+			addSegment();
+		}
+
+		currentSegment[currentSegmentLength++] = (char) c;
+		length++;
+	}
+
+	@Override
+	public void write(String str) {
+		write(str, 0, str.length());
+	}
+
+	@Override
+	public void write(char[] cbuf, int off, int len) {
+
+		while (len > 0) {
+
+			if (currentSegmentLength == currentSegment.length) {
+				addSegment();
+			}
+
+			int count = Math.min(len, currentSegment.length - currentSegmentLength);
+			System.arraycopy(cbuf, off, currentSegment, currentSegmentLength, count);
+			currentSegmentLength += count;
+			length += count;
+			off += count;
+			len -= count;
+		}
+	}
+
+	@Override
+	public void write(String str, int off, int len) {
+
+		while (len > 0) {
+
+			if (currentSegmentLength == currentSegment.length) {
+				addSegment();
+			}
+
+			int count = Math.min(len, currentSegment.length - currentSegmentLength);
+			str.getChars(off, off + count, currentSegment, currentSegmentLength);
+			currentSegmentLength += count;
+			length += count;
+			off += count;
+			len -= count;
+		}
+	}
+
+	/**
+	 * Writes the buffered characters to the specified writer, one segment at a time.
+	 */
+	public void writeTo(Writer writer) throws IOException {
+
+		for (int i = 0; i < segmentCount; i++) {
+
+			int segmentLength = getSegmentLength(i);
+
+			if (segmentLength > 0) {
+				writer.write(segments[i], 0, segmentLength);
+			}
+		}
+	}
+
+	private void addSegment() {
+
+		if (segmentCount == segments.length) {
+
+			char[][] newSegments = new char[segments.length * 2][];
+			System.arraycopy(segments, 0, newSegments, 0, segmentCount);
+			segments = newSegments;
+		}
+
+		currentSegment = new char[Math.min(currentSegment.length * 2, MAX_SEGMENT_CAPACITY)];
+		currentSegmentLength = 0;
+		segments[segmentCount++] = currentSegment;
+	}
+
+	private int getSegmentLength(int segmentIndex) {
+
+		if (segmentIndex == (segmentCount - 1)) {
+			return currentSegmentLength;
+		}
+
+		return segments[segmentIndex].length;
+	}
+}
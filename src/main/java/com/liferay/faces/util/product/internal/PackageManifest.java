@@ -18,7 +18,11 @@ package com.liferay.faces.util.product.internal;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.util.Collections;
 import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
 import java.util.jar.Attributes;
 import java.util.jar.Manifest;
 
@@ -42,41 +46,88 @@ public class PackageManifest {
 	// Private Constants
 	private static final String MANIFEST_MF_PATH = "META-INF/MANIFEST.MF";
 
+	// Private Static Final Data Members
+	private static final Map<ClassLoader, Map<String, String>> MANIFEST_INDEXES =
+		new WeakHashMap<ClassLoader, Map<String, String>>();
+
 	// Private Data Members
 	private String implementationVersion;
 
 	public PackageManifest(Class<?> clazz, String expectedImplementationTitle) {
 
-		InputStream inputStream = null;
+		ClassLoader classLoader = clazz.getClassLoader();
+
+		if (classLoader != null) {
+
+			Map<String, String> manifestIndex = getManifestIndex(classLoader);
+			implementationVersion = manifestIndex.get(expectedImplementationTitle);
+		}
+	}
+
+	/**
+	 * Returns an index of Implementation-Title to Implementation-Version for all of the "META-INF/MANIFEST.MF"
+	 * resources found by the specified ClassLoader. The index is built the first time that it is requested for a
+	 * ClassLoader, so that detecting several products requires a single pass over the manifests rather than one pass
+	 * per product. ClassLoaders are weakly referenced so that the index does not prevent a webapp from being
+	 * garbage collected after it has been undeployed.
+	 */
+	private static Map<String, String> getManifestIndex(ClassLoader classLoader) {
+
+		synchronized (MANIFEST_INDEXES) {
+
+			Map<String, String> manifestIndex = MANIFEST_INDEXES.get(classLoader);
+
+			if (manifestIndex == null) {
+
+				manifestIndex = Collections.unmodifiableMap(newManifestIndex(classLoader));
+				MANIFEST_INDEXES.put(classLoader, manifestIndex);
+			}
+
+			return manifestIndex;
+		}
+	}
+
+	private static Map<String, String> newManifestIndex(ClassLoader classLoader) {
+
+		Map<String, String> manifestIndex = new HashMap<String, String>();
 
 		try {
 
 			// For each of the "META-INF/MANIFEST.MF" resources found by the ClassLoader:
-			Enumeration<URL> manifestURLs = clazz.getClassLoader().getResources(MANIFEST_MF_PATH);
-			boolean found = false;
+			Enumeration<URL> manifestURLs = classLoader.getResources(MANIFEST_MF_PATH);
+
+			while (manifestURLs.hasMoreElements()) {
 
-			while (manifestURLs.hasMoreElements() && !found) {
 				URL manifestURL = manifestURLs.nextElement();
-				inputStream = manifestURL.openStream();
+				InputStream inputStream = null;
 
-				Manifest manifest = new Manifest(inputStream);
-				Attributes mainAttributes = manifest.getMainAttributes();
+				try {
 
-				// If the current resource matches the specified title, then retrieve the Implementation-Version.
-				if (expectedImplementationTitle.equals(mainAttributes.getValue(Attributes.Name.IMPLEMENTATION_TITLE))) {
-					implementationVersion = mainAttributes.getValue(Attributes.Name.IMPLEMENTATION_VERSION);
-					found = true;
-				}
+					inputStream = manifestURL.openStream();
 
-				inputStream.close();
+					Manifest manifest = new Manifest(inputStream);
+					Attributes mainAttributes = manifest.getMainAttributes();
+					String implementationTitle = mainAttributes.getValue(Attributes.Name.IMPLEMENTATION_TITLE);
+
+					// If more than one resource has the same title, then the first one found by the ClassLoader wins.
+					if ((implementationTitle != null) && !manifestIndex.containsKey(implementationTitle)) {
+						manifestIndex.put(implementationTitle,
+							mainAttributes.getValue(Attributes.Name.IMPLEMENTATION_VERSION));
+					}
+				}
+				catch (IOException e) {
+					logger.error(e);
+				}
+				finally {
+					CloseableUtil.close(inputStream);
+				}
 			}
 		}
 		catch (IOException e) {
 			logger.error(e);
 		}
-		finally {
-			CloseableUtil.close(inputStream);
-		}
+
+		return manifestIndex;
 	}
 
 	public String getImplementationVersion() {
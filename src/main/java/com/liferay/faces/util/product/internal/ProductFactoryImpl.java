@@ -15,125 +15,302 @@
  */
 package com.liferay.faces.util.product.internal;
 
+import java.io.File;
 import java.util.Collections;
 import java.util.EnumMap;
 import java.util.Map;
 
+import javax.faces.context.ExternalContext;
+import javax.faces.context.FacesContext;
+
+import com.liferay.faces.util.config.WebConfigParam;
+import com.liferay.faces.util.lang.ThreadSafeAccessor;
 import com.liferay.faces.util.product.Product;
 import com.liferay.faces.util.product.ProductFactory;
 
 
 /**
+ * This class provides a {@link ProductFactory} that detects each {@link Product} on demand the first time that it is
+ * requested via {@link #getProductInfo(com.liferay.faces.util.product.Product.Name)}. Detection of a product (which may
+ * involve probing the classpath for classes that are not present) is performed at most once per product in a
+ * thread-safe manner with the double-check idiom provided by {@link ThreadSafeAccessor}. If {@link
+ * WebConfigParam#ProductCacheDir} is configured, then detected product information is persisted via {@link
+ * ProductInfoCache} and reused after a restart as long as the classpath has not changed.
+ *
  * @author  Kyle Stiemann
  */
 public class ProductFactoryImpl extends ProductFactory {
 
 	// Private Final Data Members
-	private final Map<Product.Name, Product> productMap;
+	private final Map<Product.Name, ProductAccessor> productAccessors;
+	private final ProductInfoCache productInfoCache;
 
 	public ProductFactoryImpl() {
 
-		Map<Product.Name, Product> productMap = new EnumMap<Product.Name, Product>(Product.Name.class);
-		productMap.put(Product.Name.ANGULARBEANS, new ProductAngularBeansImpl());
-		productMap.put(Product.Name.ANGULARFACES, new ProductAngularFacesImpl());
-		productMap.put(Product.Name.BOOTSFACES, new ProductBootsFacesImpl());
-		productMap.put(Product.Name.BUTTERFACES, new ProductButterFacesImpl());
+		Map<Product.Name, ProductAccessor> productAccessors = new EnumMap<Product.Name, ProductAccessor>(
+				Product.Name.class);
+
+		for (Product.Name productName : Product.Name.values()) {
+			productAccessors.put(productName, new ProductAccessor(productName));
+		}
+
+		this.productAccessors = Collections.unmodifiableMap(productAccessors);
+
+		File productCacheDir = getProductCacheDir();
+
+		if (productCacheDir != null) {
+			this.productInfoCache = new ProductInfoCache(productCacheDir, ProductInfo.class.getClassLoader());
+		}
+		else {
+			this.productInfoCache = null;
+		}
+	}
+
+	private static File getProductCacheDir() {
+
+		File productCacheDir = null;
+
+		// The FacesContext is not available when the ProductFactoryImpl is created outside of a JSF request (see
+		// ProductFactory.getProduct(Product.Name)), in which case products are always detected.
+		FacesContext facesContext = FacesContext.getCurrentInstance();
+
+		if (facesContext != null) {
+
+			ExternalContext externalContext = facesContext.getExternalContext();
+			String productCacheDirPath = WebConfigParam.ProductCacheDir.getStringValue(externalContext);
+
+			if ((productCacheDirPath != null) && (productCacheDirPath.length() > 0)) {
+				productCacheDir = new File(productCacheDirPath);
+			}
+		}
+
+		return productCacheDir;
+	}
+
+	@Override
+	public Product getProductInfo(Product.Name productName) {
+		return getProductBase(productName);
+	}
+
+	@Override
+	public ProductFactory getWrapped() {
+
+		// Since this is the default factory instance, it will never wrap another factory.
+		return null;
+	}
+
+	private ProductBase getProductBase(Product.Name productName) {
+
+		ProductBase product = null;
+		ProductAccessor productAccessor = productAccessors.get(productName);
+
+		if (productAccessor != null) {
+			product = productAccessor.get(this);
+		}
+
+		return product;
+	}
+
+	private ProductBase newCachedProduct(Product.Name productName) {
+
+		ProductBase product;
+
+		if (productInfoCache == null) {
+			product = newProduct(productName);
+		}
+		else {
+
+			ProductInfo productInfo = productInfoCache.getProductInfo(productName);
+
+			if (productInfo != null) {
+				product = new ProductCachedImpl(productInfo);
+			}
+			else {
+				product = newProduct(productName);
+
+				if (product != null) {
+					productInfoCache.putProductInfo(productName, product.getProductInfo());
+				}
+			}
+		}
+
+		return product;
+	}
+
+	private ProductBase newProduct(Product.Name productName) {
+
+		// Products that aggregate other products (such as the JSF, CDI, Portlet and Servlet specs) obtain their
+		// dependencies via getProductBase(Product.Name) so that each dependency is also only detected once. Since the
+		// dependencies never form a cycle, the nested initialization cannot deadlock.
+		switch (productName) {
+
+		case ANGULARBEANS:
+			return new ProductAngularBeansImpl();
+
+		case ANGULARFACES:
+			return new ProductAngularFacesImpl();
+
+		case BOOTSFACES:
+			return new ProductBootsFacesImpl();
+
+		case BUTTERFACES:
+			return new ProductButterFacesImpl();
+
+		case CDI:
+			return new ProductSpecImpl("CDI", getProductBase(Product.Name.WELD),
+					getProductBase(Product.Name.OPEN_WEB_BEANS));
+
+		case CDI_API:
+			return new ProductCDIApiImpl();
+
+		case CLOSURE_TEMPLATES:
+			return new ProductClosureTemplatesImpl();
+
+		case DELTASPIKE:
+			return new ProductDeltaSpikeImpl();
+
+		case GLASSFISH:
+			return new ProductGlassfishImpl();
+
+		case HIGHFACES:
+			return new ProductHighFacesImpl();
+
+		case ICEFACES:
+			return new ProductICEfacesImpl();
+
+		case JETTY:
+			return new ProductJettyImpl();
+
+		case JSF:
+			return new ProductSpecImpl("JSF", getProductBase(Product.Name.MOJARRA),
+					getProductBase(Product.Name.MYFACES), getProductBase(Product.Name.JSF_API));
+
+		case JSF_API:
+			return new ProductJSFApiImpl(getProductBase(Product.Name.MOJARRA), getProductBase(Product.Name.MYFACES));
+
+		case LIFERAY_FACES_ALLOY:
+			return new ProductLiferayFacesAlloyImpl();
+
+		case LIFERAY_FACES_BRIDGE:
+			return new ProductLiferayFacesBridgeImpl();
+
+		case LIFERAY_FACES_BRIDGE_EXT:
+			return new ProductLiferayFacesBridgeExtImpl();
+
+		case LIFERAY_FACES_CLAY:
+			return new ProductLiferayFacesClayImpl();
+
+		case LIFERAY_FACES_METAL:
+			return new ProductLiferayFacesMetalImpl();
 
-		ProductBase cdiApi = new ProductCDIApiImpl();
-		productMap.put(Product.Name.CDI_API, cdiApi);
-		productMap.put(Product.Name.CLOSURE_TEMPLATES, new ProductClosureTemplatesImpl());
-		productMap.put(Product.Name.DELTASPIKE, new ProductDeltaSpikeImpl());
+		case LIFERAY_FACES_PORTAL:
+			return new ProductLiferayFacesPortalImpl();
 
-		ProductBase glassfish = new ProductGlassfishImpl();
-		productMap.put(Product.Name.GLASSFISH, glassfish);
-		productMap.put(Product.Name.HIGHFACES, new ProductHighFacesImpl());
-		productMap.put(Product.Name.ICEFACES, new ProductICEfacesImpl());
+		case LIFERAY_FACES_SHOWCASE:
+			return new ProductLiferayFacesShowcaseImpl();
 
-		ProductBase jetty = new ProductJettyImpl();
-		productMap.put(Product.Name.JETTY, jetty);
-		productMap.put(Product.Name.LIFERAY_FACES_ALLOY, new ProductLiferayFacesAlloyImpl());
-		productMap.put(Product.Name.LIFERAY_FACES_BRIDGE, new ProductLiferayFacesBridgeImpl());
-		productMap.put(Product.Name.LIFERAY_FACES_BRIDGE_EXT, new ProductLiferayFacesBridgeExtImpl());
-		productMap.put(Product.Name.LIFERAY_FACES_METAL, new ProductLiferayFacesMetalImpl());
-		productMap.put(Product.Name.LIFERAY_FACES_CLAY, new ProductLiferayFacesClayImpl());
-		productMap.put(Product.Name.LIFERAY_FACES_PORTAL, new ProductLiferayFacesPortalImpl());
-		productMap.put(Product.Name.LIFERAY_FACES_SHOWCASE, new ProductLiferayFacesShowcaseImpl());
-		productMap.put(Product.Name.LIFERAY_FACES_UTIL, new ProductLiferayFacesUtilImpl());
+		case LIFERAY_FACES_UTIL:
+			return new ProductLiferayFacesUtilImpl();
 
-		ProductBase liferayPortal = new ProductLiferayPortalImpl();
-		productMap.put(Product.Name.LIFERAY_PORTAL, liferayPortal);
+		case LIFERAY_PORTAL:
+			return new ProductLiferayPortalImpl();
 
-		ProductBase mojarra = new ProductMojarraImpl();
-		productMap.put(Product.Name.MOJARRA, mojarra);
+		case MOJARRA:
+			return new ProductMojarraImpl();
 
-		ProductBase myFaces = new ProductMyfacesImpl();
-		productMap.put(Product.Name.MYFACES, myFaces);
+		case MYFACES:
+			return new ProductMyfacesImpl();
 
-		ProductBase jsfApi = new ProductJSFApiImpl(mojarra, myFaces);
-		productMap.put(Product.Name.JSF_API, jsfApi);
-		productMap.put(Product.Name.JSF, new ProductSpecImpl("JSF", mojarra, myFaces, jsfApi));
-		productMap.put(Product.Name.OMNIFACES, new ProductOmniFacesImpl());
+		case OMNIFACES:
+			return new ProductOmniFacesImpl();
 
-		ProductBase openWebBeans = new ProductOpenWebBeansImpl();
-		productMap.put(Product.Name.OPEN_WEB_BEANS, openWebBeans);
+		case OPEN_WEB_BEANS:
+			return new ProductOpenWebBeansImpl();
 
-		ProductBase pluto = new ProductPlutoImpl();
-		productMap.put(Product.Name.PLUTO, pluto);
+		case PLUTO:
+			return new ProductPlutoImpl();
 
-		ProductBase portletApi = new ProductPortletApiImpl(liferayPortal, pluto);
-		productMap.put(Product.Name.PORTLET_API, portletApi);
-		productMap.put(Product.Name.PORTLET_CONTAINER, new ProductSpecImpl("Portlet", liferayPortal, pluto));
-		productMap.put(Product.Name.PRIMEFACES, new ProductPrimeFacesImpl());
-		productMap.put(Product.Name.PRIMEFACES_EXTENSIONS, new ProductPrimeFacesExtensionsImpl());
+		case PORTLET_API:
+			return new ProductPortletApiImpl(getProductBase(Product.Name.LIFERAY_PORTAL),
+					getProductBase(Product.Name.PLUTO));
 
-		ProductBase resin = new ProductResinImpl();
-		productMap.put(Product.Name.RESIN, resin);
-		productMap.put(Product.Name.RICHFACES, new ProductRichFacesImpl());
+		case PORTLET_CONTAINER:
+			return new ProductSpecImpl("Portlet", getProductBase(Product.Name.LIFERAY_PORTAL),
+					getProductBase(Product.Name.PLUTO));
 
-		ProductBase servletApi = new ProductServletApiImpl();
-		productMap.put(Product.Name.SERVLET_API, servletApi);
-		productMap.put(Product.Name.SPRING_FRAMEWORK, new ProductSpringFrameworkImpl());
+		case PRIMEFACES:
+			return new ProductPrimeFacesImpl();
 
-		ProductBase tomcat = new ProductTomcatImpl();
-		productMap.put(Product.Name.TOMCAT, tomcat);
+		case PRIMEFACES_EXTENSIONS:
+			return new ProductPrimeFacesExtensionsImpl();
 
-		ProductBase weld = new ProductWeldImpl();
-		productMap.put(Product.Name.WELD, weld);
-		productMap.put(Product.Name.CDI, new ProductSpecImpl("CDI", weld, openWebBeans));
+		case RESIN:
+			return new ProductResinImpl();
 
-		ProductBase weblogic = new ProductWebLogicImpl();
-		productMap.put(Product.Name.WEBLOGIC, weblogic);
+		case RICHFACES:
+			return new ProductRichFacesImpl();
 
-		ProductBase websphere = new ProductWebSphereImpl();
-		productMap.put(Product.Name.WEBSPHERE, websphere);
+		case SERVLET_API:
+			return new ProductServletApiImpl();
 
-		ProductBase wildfly = new ProductWildFlyImpl();
-		productMap.put(Product.Name.WILDFLY, wildfly);
+		case SERVLET_CONTAINER:
+			return newServletContainerProduct();
+
+		case SPRING_FRAMEWORK:
+			return new ProductSpringFrameworkImpl();
+
+		case TOMCAT:
+			return new ProductTomcatImpl();
+
+		case WEBLOGIC:
+			return new ProductWebLogicImpl();
+
+		case WEBSPHERE:
+			return new ProductWebSphereImpl();
+
+		case WELD:
+			return new ProductWeldImpl();
+
+		case WILDFLY:
+			return new ProductWildFlyImpl();
+
+		default:
+
+			// Consistent with a lookup of an unknown key in a map of products.
+			return null;
+		}
+	}
+
+	private ProductBase newServletContainerProduct() {
+
+		ProductBase liferayPortal = getProductBase(Product.Name.LIFERAY_PORTAL);
 
 		if (liferayPortal.isDetected() && (liferayPortal.getMajorVersion() >= 7)) {
-			productMap.put(Product.Name.SERVLET_CONTAINER,
-				new ProductSpecImpl("Servlet",
+			return new ProductSpecImpl("Servlet",
 					new ProductLiferayWabExtenderImpl(liferayPortal.isDetected(), liferayPortal.getVersion(),
 						liferayPortal.getMajorVersion(), liferayPortal.getMinorVersion(),
-						liferayPortal.getPatchVersion(), liferayPortal.getBuildId())));
+						liferayPortal.getPatchVersion(), liferayPortal.getBuildId()));
 		}
 		else {
-			productMap.put(Product.Name.SERVLET_CONTAINER,
-				new ProductSpecImpl("Servlet", tomcat, wildfly, resin, glassfish, weblogic, websphere, jetty));
+			return new ProductSpecImpl("Servlet", getProductBase(Product.Name.TOMCAT),
+					getProductBase(Product.Name.WILDFLY), getProductBase(Product.Name.RESIN),
+					getProductBase(Product.Name.GLASSFISH), getProductBase(Product.Name.WEBLOGIC),
+					getProductBase(Product.Name.WEBSPHERE), getProductBase(Product.Name.JETTY));
 		}
-
-		this.productMap = Collections.unmodifiableMap(productMap);
 	}
 
-	@Override
-	public Product getProductInfo(Product.Name productName) {
-		return productMap.get(productName);
-	}
+	private static final class ProductAccessor extends ThreadSafeAccessor<ProductBase, ProductFactoryImpl> {
 
-	@Override
-	public ProductFactory getWrapped() {
+		// Private Final Data Members
+		private final Product.Name productName;
 
-		// Since this is the default factory instance, it will never wrap another factory.
-		return null;
+		public ProductAccessor(Product.Name productName) {
+			this.productName = productName;
+		}
+
+		@Override
+		protected ProductBase computeValue(ProductFactoryImpl productFactoryImpl) {
+			return productFactoryImpl.newCachedProduct(productName);
+		}
 	}
 }
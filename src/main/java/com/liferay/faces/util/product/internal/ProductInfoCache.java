@@ -0,0 +1,225 @@
+/**
+ * Copyright (c) 2000-2018 Liferay, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.liferay.faces.util.product.internal;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Enumeration;
+import java.util.Properties;
+
+import com.liferay.faces.util.helper.BooleanHelper;
+import com.liferay.faces.util.helper.IntegerHelper;
+import com.liferay.faces.util.internal.CloseableUtil;
+import com.liferay.faces.util.internal.ResourceFileUtil;
+import com.liferay.faces.util.logging.Logger;
+import com.liferay.faces.util.logging.LoggerFactory;
+import com.liferay.faces.util.product.Product;
+
+
+/**
+ * This class persists detected {@link ProductInfo} values to a small properties file so that product detection can be
+ * skipped when the webapp is restarted. The file is keyed by a fingerprint of the classpath which is computed from the
+ * location, size and last-modified time of every "META-INF/MANIFEST.MF" resource (and therefore every jar) visible to
+ * the ClassLoader. If the fingerprint stored in the file differs from the current fingerprint, then the cached values
+ * are ignored and the file is rewritten as products are detected.
+ *
+ * @author  Kyle Stiemann
+ */
+public class ProductInfoCache {
+
+	// Logger
+	private static final Logger logger = LoggerFactory.getLogger(ProductInfoCache.class);
+
+	// Private Constants
+	private static final String BUILD_ID = ".buildId";
+	private static final String CACHE_FILE_NAME = "com.liferay.faces.util.product.properties";
+	private static final String DETECTED = ".detected";
+	private static final String FINGERPRINT = "fingerprint";
+	private static final String MAJOR_VERSION = ".majorVersion";
+	private static final String MANIFEST_MF_PATH = "META-INF/MANIFEST.MF";
+	private static final String MINOR_VERSION = ".minorVersion";
+	private static final String PATCH_VERSION = ".patchVersion";
+	private static final String STRING_VALUE = ".stringValue";
+	private static final String TITLE = ".title";
+	private static final String VERSION = ".version";
+
+	// Private Final Data Members
+	private final File cacheFile;
+	private final String fingerprint;
+	private final Properties properties;
+
+	public ProductInfoCache(File cacheDir, ClassLoader classLoader) {
+
+		this.cacheFile = new File(cacheDir, CACHE_FILE_NAME);
+		this.fingerprint = getFingerprint(classLoader);
+		this.properties = new Properties();
+
+		if ((fingerprint != null) && cacheFile.isFile()) {
+
+			Properties cachedProperties = new Properties();
+			InputStream inputStream = null;
+
+			try {
+
+				inputStream = new FileInputStream(cacheFile);
+				cachedProperties.load(inputStream);
+
+				if (fingerprint.equals(cachedProperties.getProperty(FINGERPRINT))) {
+					properties.putAll(cachedProperties);
+				}
+				else {
+					logger.debug("Ignoring cached product information in [{0}] since the classpath has changed.",
+						cacheFile);
+				}
+			}
+			catch (IOException e) {
+				logger.error(e);
+			}
+			finally {
+				CloseableUtil.close(inputStream);
+			}
+		}
+
+		properties.setProperty(FINGERPRINT, String.valueOf(fingerprint));
+	}
+
+	private static String getFingerprint(ClassLoader classLoader) {
+
+		String fingerprint = null;
+
+		if (classLoader != null) {
+
+			try {
+
+				MessageDigest messageDigest = MessageDigest.getInstance("SHA-1");
+				Enumeration<URL> manifestURLs = classLoader.getResources(MANIFEST_MF_PATH);
+
+				while (manifestURLs.hasMoreElements()) {
+
+					URL manifestURL = manifestURLs.nextElement();
+					StringBuilder buf = new StringBuilder(manifestURL.toExternalForm());
+					File file = ResourceFileUtil.getFile(manifestURL);
+
+					if (file != null) {
+						buf.append(file.length());
+						buf.append(file.lastModified());
+					}
+
+					messageDigest.update(buf.toString().getBytes("UTF-8"));
+				}
+
+				StringBuilder buf = new StringBuilder();
+
+				for (byte b : messageDigest.digest()) {
+					buf.append(Integer.toHexString((b & 0xff) | 0x100).substring(1));
+				}
+
+				fingerprint = buf.toString();
+			}
+			catch (NoSuchAlgorithmException e) {
+				logger.error(e);
+			}
+			catch (IOException e) {
+				logger.error(e);
+			}
+		}
+
+		return fingerprint;
+	}
+
+	/**
+	 * Returns the cached {@link ProductInfo} of the specified product, or null if the product has not been cached for
+	 * the current classpath.
+	 */
+	public synchronized ProductInfo getProductInfo(Product.Name productName) {
+
+		ProductInfo productInfo = null;
+		String prefix = productName.name();
+		String title = properties.getProperty(prefix + TITLE);
+
+		if (title != null) {
+
+			boolean detected = BooleanHelper.isTrueToken(properties.getProperty(prefix + DETECTED));
+			productInfo = new ProductInfo(detected, title, properties.getProperty(prefix + VERSION),
+					properties.getProperty(prefix + STRING_VALUE),
+					IntegerHelper.toInteger(properties.getProperty(prefix + MAJOR_VERSION)),
+					IntegerHelper.toInteger(properties.getProperty(prefix + MINOR_VERSION)),
+					IntegerHelper.toInteger(properties.getProperty(prefix + PATCH_VERSION)),
+					IntegerHelper.toInteger(properties.getProperty(prefix + BUILD_ID)));
+		}
+
+		return productInfo;
+	}
+
+	/**
+	 * Caches the specified {@link ProductInfo} and rewrites the cache file. Since the file is only rewritten when a
+	 * product is detected for the first time after the classpath has changed, writes are rare.
+	 */
+	public synchronized void putProductInfo(Product.Name productName, ProductInfo productInfo) {
+
+		if (fingerprint == null) {
+			return;
+		}
+
+		String prefix = productName.name();
+		properties.setProperty(prefix + TITLE, productInfo.title);
+		properties.setProperty(prefix + VERSION, productInfo.version);
+		properties.setProperty(prefix + STRING_VALUE, productInfo.stringValue);
+		properties.setProperty(prefix + MAJOR_VERSION, Integer.toString(productInfo.majorVersion));
+		properties.setProperty(prefix + MINOR_VERSION, Integer.toString(productInfo.minorVersion));
+		properties.setProperty(prefix + PATCH_VERSION, Integer.toString(productInfo.patchVersion));
+		properties.setProperty(prefix + BUILD_ID, Integer.toString(productInfo.buildId));
+		properties.setProperty(prefix + DETECTED, Boolean.toString(productInfo.detected));
+
+		// Write to a temporary file first and then rename it so that a partially written cache file is never read.
+		File cacheDir = cacheFile.getParentFile();
+		OutputStream outputStream = null;
+		File tempFile = null;
+
+		try {
+
+			if (!cacheDir.isDirectory() && !cacheDir.mkdirs()) {
+				throw new IOException("Unable to create directory " + cacheDir);
+			}
+
+			tempFile = File.createTempFile(CACHE_FILE_NAME, null, cacheDir);
+			outputStream = new FileOutputStream(tempFile);
+			properties.store(outputStream, "Liferay Faces Util detected products");
+			outputStream.close();
+
+			if (!tempFile.renameTo(cacheFile) && (!cacheFile.delete() || !tempFile.renameTo(cacheFile))) {
+				throw new IOException("Unable to rename " + tempFile + " to " + cacheFile);
+			}
+		}
+		catch (IOException e) {
+			logger.error(e);
+		}
+		finally {
+			CloseableUtil.close(outputStream);
+
+			if ((tempFile != null) && tempFile.exists()) {
+				tempFile.delete();
+			}
+		}
+	}
+}
@@ -22,6 +22,7 @@ import java.io.Writer;
 import javax.faces.component.UIComponent;
 import javax.faces.context.ResponseWriter;
 
+import com.liferay.faces.util.internal.SegmentedCharBuffer;
 import com.liferay.faces.util.logging.Logger;
 import com.liferay.faces.util.logging.LoggerFactory;
 
@@ -42,7 +43,7 @@ public class BufferedScriptResponseWriter extends ResponseWriter {
 	/* package-private */ StringWriter stringWriter = new StringWriter();
 
 	// Private Final Data Members
-	private final StringWriter _stringWriter = new StringWriter();
+	private final SegmentedCharBuffer _stringWriter = new SegmentedCharBuffer();
 
 	@Override
 	public ResponseWriter cloneWithWriter(Writer writer) {
@@ -28,6 +28,7 @@ import com.liferay.faces.util.client.ScriptFactory;
 import com.liferay.faces.util.component.ClientComponent;
 import com.liferay.faces.util.component.ComponentUtil;
 import com.liferay.faces.util.context.FacesContextHelperUtil;
+import com.liferay.faces.util.render.internal.JavaScriptLiteralWriter;
 
 
 /**
@@ -109,20 +110,24 @@ public abstract class ClientComponentRendererBase extends Renderer implements Cl
 	protected void encodeBooleanProperty(ResponseWriter responseWriter, String propertyName, Boolean propertyValue,
 		boolean first) throws IOException {
 
-		if (!first) {
-			responseWriter.write(",");
-		}
-
-		responseWriter.write(propertyName);
-		responseWriter.write(":");
-		responseWriter.write(propertyValue.toString());
+		JavaScriptLiteralWriter javaScriptLiteralWriter = getJavaScriptLiteralWriter(responseWriter);
+		javaScriptLiteralWriter.writePropertyName(propertyName, first);
+		javaScriptLiteralWriter.writeBoolean(propertyValue);
+		javaScriptLiteralWriter.flush();
 	}
 
 	protected void encodeClientIdProperty(ResponseWriter responseWriter, String propertyName, String clientId,
 		boolean first) throws IOException {
 
-		String escapedClientId = "'#" + ComponentUtil.escapeClientId(clientId) + "'";
-		encodeNonEscapedObjectProperty(responseWriter, propertyName, escapedClientId, first);
+		JavaScriptLiteralWriter javaScriptLiteralWriter = getJavaScriptLiteralWriter(responseWriter);
+		javaScriptLiteralWriter.writePropertyName(propertyName, first);
+
+		// The escaped client id already contains the backslashes that are required within a JavaScript string, so it
+		// must not be escaped again.
+		javaScriptLiteralWriter.write("'#");
+		javaScriptLiteralWriter.write(ComponentUtil.escapeClientId(clientId));
+		javaScriptLiteralWriter.write("'");
+		javaScriptLiteralWriter.flush();
 	}
 
 	protected void encodeClientIdProperty(ResponseWriter responseWriter, String propertyName, String clientId,
@@ -141,73 +146,51 @@ public abstract class ClientComponentRendererBase extends Renderer implements Cl
 	protected void encodeFunctionCall(ResponseWriter responseWriter, String functionName, Object... parameters)
 		throws IOException {
 
-		responseWriter.write(functionName);
-		responseWriter.write("(");
-
-		boolean first = true;
+		JavaScriptLiteralWriter javaScriptLiteralWriter = getJavaScriptLiteralWriter(responseWriter);
+		javaScriptLiteralWriter.beginFunctionCall(functionName);
 
 		for (Object parameter : parameters) {
-
-			if (first) {
-				first = false;
-			}
-			else {
-				responseWriter.write(",");
-			}
-
-			encodeFunctionParameter(responseWriter, parameter);
+			javaScriptLiteralWriter.writeValue(parameter);
 		}
 
-		responseWriter.write(");");
+		javaScriptLiteralWriter.endFunctionCall();
+		javaScriptLiteralWriter.write(';');
+		javaScriptLiteralWriter.flush();
 	}
 
 	protected void encodeIntegerProperty(ResponseWriter responseWriter, String propertyName, Integer propertyValue,
 		boolean first) throws IOException {
 
-		if (!first) {
-			responseWriter.write(",");
-		}
-
-		responseWriter.write(propertyName);
-		responseWriter.write(":");
-		responseWriter.write(propertyValue.toString());
+		JavaScriptLiteralWriter javaScriptLiteralWriter = getJavaScriptLiteralWriter(responseWriter);
+		javaScriptLiteralWriter.writePropertyName(propertyName, first);
+		javaScriptLiteralWriter.writeNumber(propertyValue);
+		javaScriptLiteralWriter.flush();
 	}
 
 	protected void encodeNonEscapedObjectProperty(ResponseWriter responseWriter, String propertyName,
 		Object propertyValue, boolean first) throws IOException {
 
-		if (!first) {
-			responseWriter.write(",");
-		}
-
-		responseWriter.write(propertyName);
-		responseWriter.write(":");
-		responseWriter.write(propertyValue.toString());
+		JavaScriptLiteralWriter javaScriptLiteralWriter = getJavaScriptLiteralWriter(responseWriter);
+		javaScriptLiteralWriter.writePropertyName(propertyName, first);
+		javaScriptLiteralWriter.writeRaw(propertyValue);
+		javaScriptLiteralWriter.flush();
 	}
 
 	protected void encodeStringProperty(ResponseWriter responseWriter, String propertyName, Object propertyValue,
 		boolean first) throws IOException {
 
-		String escapedAttributeValue = RendererUtil.escapeJavaScript(propertyValue.toString());
-
-		if (!first) {
-			responseWriter.write(",");
-		}
-
-		responseWriter.write(propertyName);
-		responseWriter.write(":'");
-		responseWriter.write(escapedAttributeValue);
-		responseWriter.write("'");
+		JavaScriptLiteralWriter javaScriptLiteralWriter = getJavaScriptLiteralWriter(responseWriter);
+		javaScriptLiteralWriter.writePropertyName(propertyName, first);
+		javaScriptLiteralWriter.writeString(propertyValue.toString());
+		javaScriptLiteralWriter.flush();
 	}
 
 	protected String getClientVarName(FacesContext facesContext, ClientComponent clientComponent) {
 
 		char separatorChar = UINamingContainer.getSeparatorChar(facesContext);
 		String clientId = clientComponent.getClientId();
-		String regex = "[" + separatorChar + "]";
-		String clientVarName = clientId.replaceAll(regex, "_");
 
-		return clientVarName;
+		return clientId.replace(separatorChar, '_');
 	}
 
 	protected void renderScript(FacesContext facesContext, String bufferedScriptString, String[] modules,
@@ -226,45 +209,7 @@ public abstract class ClientComponentRendererBase extends Renderer implements Cl
 		FacesContextHelperUtil.addScript(facesContext, script);
 	}
 
-	private void encodeFunctionParameter(ResponseWriter responseWriter, Object parameter) throws IOException {
-
-		if (parameter == null) {
-			responseWriter.write("null");
-		}
-		else {
-
-			if (parameter instanceof Object[]) {
-				Object[] parameterItems = (Object[]) parameter;
-
-				if (parameterItems.length == 0) {
-					responseWriter.write("[]");
-				}
-				else {
-					responseWriter.write("[");
-
-					boolean firstIndex = true;
-
-					for (Object parameterItem : parameterItems) {
-
-						if (firstIndex) {
-							firstIndex = false;
-						}
-						else {
-							responseWriter.write(",");
-						}
-
-						encodeFunctionParameter(responseWriter, parameterItem);
-					}
-
-					responseWriter.write("]");
-				}
-			}
-			else if (parameter instanceof String) {
-				responseWriter.write("'" + parameter.toString() + "'");
-			}
-			else {
-				responseWriter.write(parameter.toString());
-			}
-		}
+	private JavaScriptLiteralWriter getJavaScriptLiteralWriter(ResponseWriter responseWriter) throws IOException {
+		return JavaScriptLiteralWriter.getInstance(FacesContext.getCurrentInstance(), responseWriter);
 	}
 }
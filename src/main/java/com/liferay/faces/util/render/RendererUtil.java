@@ -16,6 +16,7 @@
 package com.liferay.faces.util.render;
 
 import java.io.IOException;
+import java.io.Writer;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
@@ -46,6 +47,9 @@ public class RendererUtil {
 			'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f'
 		};
 
+	// The escape sequence of each character in the range 0-255, or null if the character does not need to be escaped.
+	private static final char[][] JAVA_SCRIPT_ESCAPES = newJavaScriptEscapes();
+
 	// Logger
 	private static final Logger logger = LoggerFactory.getLogger(RendererUtil.class);
 
@@ -160,33 +164,65 @@ public class RendererUtil {
 	 */
 	public static String escapeJavaScript(String javaScript) {
 
-		StringBuilder stringBuilder = new StringBuilder();
-		char[] javaScriptCharArray = javaScript.toCharArray();
+		// Fast path: most strings do not contain any characters that need to be escaped.
+		int escapeIndex = indexOfJavaScriptEscape(javaScript, 0);
+
+		if (escapeIndex < 0) {
+			return javaScript;
+		}
 
-		for (char character : javaScriptCharArray) {
+		int length = javaScript.length();
+		StringBuilder stringBuilder = new StringBuilder(length + 16);
+		int start = 0;
 
-			if ((character > 255) || Character.isLetterOrDigit(character)) {
+		while (escapeIndex >= 0) {
 
-				stringBuilder.append(character);
-			}
-			else {
-				stringBuilder.append(JAVA_SCRIPT_HEX_PREFIX);
+			stringBuilder.append(javaScript, start, escapeIndex);
+			stringBuilder.append(JAVA_SCRIPT_ESCAPES[javaScript.charAt(escapeIndex)]);
+			start = escapeIndex + 1;
+			escapeIndex = indexOfJavaScriptEscape(javaScript, start);
+		}
 
-				String hexString = toHexString(character);
+		stringBuilder.append(javaScript, start, length);
 
-				if (hexString.length() == 1) {
-					stringBuilder.append("0");
-				}
+		return stringBuilder.toString();
+	}
 
-				stringBuilder.append(hexString);
-			}
+	/**
+	 * Escapes JavaScript in the same way as {@link #escapeJavaScript(String)} but writes the escaped JavaScript directly
+	 * to the specified writer (for example a {@link ResponseWriter}) rather than creating a new string. Unescaped
+	 * characters are written in runs and strings that do not need to be escaped are written unchanged.
+	 *
+	 * @param  writer      The writer to which the escaped JavaScript is to be written.
+	 * @param  javaScript  a JavaScript string which has not been escaped to prevent XSS.
+	 */
+	public static void escapeJavaScript(Writer writer, String javaScript) throws IOException {
+
+		int escapeIndex = indexOfJavaScriptEscape(javaScript, 0);
+
+		if (escapeIndex < 0) {
+			writer.write(javaScript);
+
+			return;
 		}
 
-		if (stringBuilder.length() != javaScript.length()) {
-			javaScript = stringBuilder.toString();
+		int length = javaScript.length();
+		int start = 0;
+
+		while (escapeIndex >= 0) {
+
+			if (escapeIndex > start) {
+				writer.write(javaScript, start, escapeIndex - start);
+			}
+
+			writer.write(JAVA_SCRIPT_ESCAPES[javaScript.charAt(escapeIndex)]);
+			start = escapeIndex + 1;
+			escapeIndex = indexOfJavaScriptEscape(javaScript, start);
 		}
 
-		return javaScript;
+		if (length > start) {
+			writer.write(javaScript, start, length - start);
+		}
 	}
 
 	/**
@@ -263,18 +299,35 @@ public class RendererUtil {
 		return Arrays.asList(render.split(" "));
 	}
 
-	private static String toHexString(int i) {
-		char[] buffer = new char[8];
+	private static int indexOfJavaScriptEscape(String javaScript, int fromIndex) {
 
-		int index = 8;
+		int length = javaScript.length();
 
-		do {
-			buffer[--index] = _HEX_DIGITS[i & 15];
+		for (int i = fromIndex; i < length; i++) {
+
+			char character = javaScript.charAt(i);
+
+			if ((character <= 255) && (JAVA_SCRIPT_ESCAPES[character] != null)) {
+				return i;
+			}
+		}
 
-			i >>>= 4;
+		return -1;
+	}
+
+	private static char[][] newJavaScriptEscapes() {
+
+		char[][] javaScriptEscapes = new char[256][];
+
+		for (char character = 0; character <= 255; character++) {
+
+			if (!Character.isLetterOrDigit(character)) {
+
+				String escape = JAVA_SCRIPT_HEX_PREFIX + _HEX_DIGITS[character >> 4] + _HEX_DIGITS[character & 15];
+				javaScriptEscapes[character] = escape.toCharArray();
+			}
 		}
-		while (i != 0);
 
-		return new String(buffer, index, 8 - index);
+		return javaScriptEscapes;
 	}
 }
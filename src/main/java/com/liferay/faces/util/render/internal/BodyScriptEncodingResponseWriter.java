@@ -16,7 +16,7 @@
 package com.liferay.faces.util.render.internal;
 
 import java.io.IOException;
-import java.io.StringWriter;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -28,10 +28,17 @@ import javax.faces.context.FacesContext;
 import javax.faces.context.ResponseWriter;
 import javax.faces.context.ResponseWriterWrapper;
 
+import com.liferay.faces.util.application.internal.ScriptResourceHandler;
 import com.liferay.faces.util.client.Script;
+import com.liferay.faces.util.client.ScriptFactory;
 import com.liferay.faces.util.client.ScriptsEncoder;
 import com.liferay.faces.util.client.ScriptsEncoderFactory;
+import com.liferay.faces.util.client.internal.ScriptFactoryImpl;
+import com.liferay.faces.util.client.internal.SegmentedScript;
+import com.liferay.faces.util.config.WebConfigParam;
 import com.liferay.faces.util.context.FacesContextHelperUtil;
+import com.liferay.faces.util.factory.FactoryExtensionFinder;
+import com.liferay.faces.util.internal.SegmentedCharBuffer;
 
 
 /**
@@ -69,8 +76,22 @@ public class BodyScriptEncodingResponseWriter extends ResponseWriterWrapper {
 			// Otherwise ensure that the script is written before the closing <body> tag.
 			else {
 
-				String scriptSource = bufferedScript.toString();
-				FacesContextHelperUtil.addScript(facesContext, scriptSource);
+				// Unless the ScriptFactory has been decorated, hand the buffer off to a script that writes it directly
+				// to the response rather than converting it to a String. Since the script keeps the buffer until the
+				// closing <body> tag, such a buffer is never reused. Otherwise the buffer is reset and reused.
+				ExternalContext externalContext = facesContext.getExternalContext();
+				ScriptFactory scriptFactory = (ScriptFactory) FactoryExtensionFinder.getFactory(externalContext,
+						ScriptFactory.class);
+				Script script;
+
+				if (scriptFactory.getClass() == ScriptFactoryImpl.class) {
+					script = new SegmentedScript(bufferedScript.takeSourceCode());
+				}
+				else {
+					script = scriptFactory.getScript(bufferedScript.toString());
+				}
+
+				FacesContextHelperUtil.addScript(facesContext, script);
 			}
 
 			bufferedScript.clear();
@@ -86,7 +107,14 @@ public class BodyScriptEncodingResponseWriter extends ResponseWriterWrapper {
 					ExternalContext externalContext = facesContext.getExternalContext();
 					ScriptsEncoder scriptsEncoder = ScriptsEncoderFactory.getScriptsEncoderInstance(externalContext);
 					facesContext.setResponseWriter(wrappedResponseWriter);
-					scriptsEncoder.encodeBodyScripts(facesContext, scripts);
+
+					if (WebConfigParam.ExternalizeBodyScripts.getBooleanValue(externalContext)) {
+						encodeExternalizedBodyScripts(scriptsEncoder, scripts);
+					}
+					else {
+						scriptsEncoder.encodeBodyScripts(facesContext, scripts);
+					}
+
 					facesContext.setResponseWriter(this);
 				}
 			}
@@ -186,17 +214,70 @@ public class BodyScriptEncodingResponseWriter extends ResponseWriterWrapper {
 		}
 	}
 
+	private void encodeExternalizedBodyScripts(ScriptsEncoder scriptsEncoder, List<Script> scripts)
+		throws IOException {
+
+		// Split the scripts into consecutive runs of static and dynamic scripts so that the scripts are executed in the
+		// order in which they were added. Each run of static scripts is externalized into a single resource.
+		ExternalContext externalContext = facesContext.getExternalContext();
+		List<Script> run = new ArrayList<Script>();
+		boolean staticRun = false;
+
+		for (Script script : scripts) {
+
+			boolean staticScript = ScriptResourceHandler.isStaticScript(externalContext, script);
+
+			if (!run.isEmpty() && (staticScript != staticRun)) {
+
+				encodeScriptsRun(scriptsEncoder, run, staticRun);
+				run = new ArrayList<Script>();
+			}
+
+			run.add(script);
+			staticRun = staticScript;
+		}
+
+		encodeScriptsRun(scriptsEncoder, run, staticRun);
+	}
+
+	private void encodeScriptsRun(ScriptsEncoder scriptsEncoder, List<Script> run, boolean staticRun)
+		throws IOException {
+
+		if (staticRun) {
+
+			SegmentedCharBuffer combinedScriptWriter = new SegmentedCharBuffer();
+			facesContext.setResponseWriter(wrappedResponseWriter.cloneWithWriter(combinedScriptWriter));
+			scriptsEncoder.encodeEvalScripts(facesContext, run);
+			facesContext.setResponseWriter(wrappedResponseWriter);
+
+			String combinedScript = combinedScriptWriter.toString();
+			String requestPath = ScriptResourceHandler.getRequestPath(facesContext, combinedScript);
+			wrappedResponseWriter.startElement("script", null);
+			wrappedResponseWriter.writeAttribute("type", "text/javascript", null);
+
+			if (requestPath != null) {
+				wrappedResponseWriter.writeURIAttribute("src", requestPath, null);
+			}
+			else {
+				wrappedResponseWriter.write(combinedScript);
+			}
+
+			wrappedResponseWriter.endElement("script");
+		}
+		else {
+			scriptsEncoder.encodeBodyScripts(facesContext, run);
+		}
+	}
+
 	private static final class BufferedScript {
 
 		// Private Members
 		private Map<String, BufferedScriptAttribute> attributes;
 		private UIComponent scriptComponent;
-		private StringWriter sourceCodeWriter;
+		private SegmentedCharBuffer sourceCodeWriter;
 		private boolean writingScript;
 
 		private BufferedScript() {
-
-			this.sourceCodeWriter = new StringWriter();
 			this.attributes = new HashMap<String, BufferedScriptAttribute>();
 		}
 
@@ -227,8 +308,9 @@ public class BodyScriptEncodingResponseWriter extends ResponseWriterWrapper {
 			attributes.clear();
 			scriptComponent = null;
 
-			StringBuffer sourceCodeWriterBuffer = sourceCodeWriter.getBuffer();
-			sourceCodeWriterBuffer.setLength(0);
+			if (sourceCodeWriter != null) {
+				sourceCodeWriter.reset();
+			}
 		}
 
 		private boolean isBuffering() {
@@ -243,6 +325,23 @@ public class BodyScriptEncodingResponseWriter extends ResponseWriterWrapper {
 
 			writingScript = true;
 			this.scriptComponent = scriptComponent;
+
+			// The buffer is created lazily since the previous buffer may have been taken by takeSourceCode().
+			if (sourceCodeWriter == null) {
+				sourceCodeWriter = new SegmentedCharBuffer();
+			}
+		}
+
+		/**
+		 * Returns the buffered source code and releases the buffer so that the returned buffer is never modified. A new
+		 * buffer is only created when the next script is buffered.
+		 */
+		private SegmentedCharBuffer takeSourceCode() {
+
+			SegmentedCharBuffer sourceCode = sourceCodeWriter;
+			sourceCodeWriter = null;
+
+			return sourceCode;
 		}
 
 		private void write(ResponseWriter responseWriter) throws IOException {
@@ -0,0 +1,105 @@
+/**
+ * Copyright (c) 2000-2018 Liferay, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.liferay.faces.util.render.internal;
+
+/**
+ * This class is a thread-safe cache of decorators (wrappers) keyed by the identity of the wrapped instance. Since the
+ * number of wrapped instances (render kits and renderers) is small and fixed after startup, the cache is implemented as
+ * an immutable open-addressing table that is copied on write and published through a volatile reference. As a result,
+ * lookups never lock and never allocate.
+ *
+ * @author  Kyle Stiemann
+ */
+final class IdentityWrapperCache<K, V> {
+
+	// Private Data Members
+	private volatile Object[] table = new Object[16];
+
+	private static int indexOf(Object[] table, Object key) {
+
+		// Keys are stored at even indexes and values at the following odd indexes.
+		int mask = table.length - 2;
+		int index = (System.identityHashCode(key) << 1) & mask;
+		Object existingKey;
+
+		while (((existingKey = table[index]) != null) && (existingKey != key)) {
+			index = (index + 2) & mask;
+		}
+
+		return index;
+	}
+
+	/**
+	 * Returns the wrapper of the specified instance, or null if no wrapper has been cached.
+	 */
+	@SuppressWarnings("unchecked")
+	V getWrapper(K wrapped) {
+
+		Object[] table = this.table;
+
+		return (V) table[indexOf(table, wrapped) + 1];
+	}
+
+	/**
+	 * Caches the specified wrapper of the specified instance unless a wrapper has already been cached, and returns the
+	 * cached wrapper.
+	 */
+	@SuppressWarnings("unchecked")
+	synchronized V putWrapperIfAbsent(K wrapped, V wrapper) {
+
+		Object[] table = this.table;
+		int index = indexOf(table, wrapped);
+
+		if (table[index] != null) {
+			return (V) table[index + 1];
+		}
+
+		int size = 1;
+
+		for (int i = 0; i < table.length; i += 2) {
+
+			if (table[i] != null) {
+				size++;
+			}
+		}
+
+		// Keep the load factor at or below one half so that probe sequences remain short.
+		int capacity = table.length;
+
+		if ((size * 4) > capacity) {
+			capacity = capacity << 1;
+		}
+
+		Object[] newTable = new Object[capacity];
+
+		for (int i = 0; i < table.length; i += 2) {
+
+			if (table[i] != null) {
+
+				int newIndex = indexOf(newTable, table[i]);
+				newTable[newIndex] = table[i];
+				newTable[newIndex + 1] = table[i + 1];
+			}
+		}
+
+		int newIndex = indexOf(newTable, wrapped);
+		newTable[newIndex] = wrapped;
+		newTable[newIndex + 1] = wrapper;
+		this.table = newTable;
+
+		return wrapper;
+	}
+}
@@ -0,0 +1,363 @@
+/**
+ * Copyright (c) 2000-2018 Liferay, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.liferay.faces.util.render.internal;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+
+import javax.faces.context.FacesContext;
+
+import com.liferay.faces.util.render.RendererUtil;
+
+
+/**
+ * This class is an unsynchronized {@link Writer} that writes JavaScript literals (objects, arrays, function calls,
+ * strings, numbers, booleans and raw expressions) to an underlying writer (typically the {@link
+ * javax.faces.context.ResponseWriter}). Commas between array elements, function parameters and object properties are
+ * written automatically and strings are escaped with {@link RendererUtil#escapeJavaScript(Writer, String)}. Characters
+ * are collected in a single char buffer which is reused for the entire request and written to the underlying writer in
+ * one call when the buffer is full or when {@link #flush()} is called. Since the underlying writer may also be written
+ * to directly, callers must call {@link #flush()} before doing so.
+ *
+ * @author  Kyle Stiemann
+ */
+public final class JavaScriptLiteralWriter extends Writer {
+
+	// Private Constants
+	private static final int BUFFER_CAPACITY = 1024;
+	private static final String JAVA_SCRIPT_LITERAL_WRITER_KEY = JavaScriptLiteralWriter.class.getName();
+
+	// Private Final Data Members
+	private final char[] buffer;
+
+	// Private Data Members
+	private int bufferLength;
+	private int depth;
+	private boolean propertyNameWritten;
+	private boolean[] separatorRequired;
+	private Writer writer;
+
+	private JavaScriptLiteralWriter() {
+		this.buffer = new char[BUFFER_CAPACITY];
+		this.separatorRequired = new boolean[8];
+	}
+
+	/**
+	 * Returns the request scoped instance that writes to the specified writer. If the instance was previously writing
+	 * to a different writer, then any buffered characters are first written to that writer.
+	 *
+	 * @param  facesContext  The current faces context or null if there is no current faces context (in which case a new
+	 *                       instance is returned).
+	 * @param  writer        The underlying writer.
+	 */
+	public static JavaScriptLiteralWriter getInstance(FacesContext facesContext, Writer writer) throws IOException {
+
+		JavaScriptLiteralWriter javaScriptLiteralWriter = null;
+		Map<Object, Object> attributes = null;
+
+		if (facesContext != null) {
+
+			attributes = facesContext.getAttributes();
+			javaScriptLiteralWriter = (JavaScriptLiteralWriter) attributes.get(JAVA_SCRIPT_LITERAL_WRITER_KEY);
+		}
+
+		if (javaScriptLiteralWriter == null) {
+
+			javaScriptLiteralWriter = new JavaScriptLiteralWriter();
+
+			if (attributes != null) {
+				attributes.put(JAVA_SCRIPT_LITERAL_WRITER_KEY, javaScriptLiteralWriter);
+			}
+		}
+		else if (javaScriptLiteralWriter.writer != writer) {
+			javaScriptLiteralWriter.flush();
+		}
+
+		javaScriptLiteralWriter.writer = writer;
+		javaScriptLiteralWriter.depth = 0;
+		javaScriptLiteralWriter.propertyNameWritten = false;
+
+		return javaScriptLiteralWriter;
+	}
+
+	/**
+	 * Writes the beginning of an array (<code>[</code>) as a value.
+	 */
+	public void beginArray() throws IOException {
+		begin('[');
+	}
+
+	/**
+	 * Writes the beginning of a function call (the function name followed by <code>(</code>) as a value.
+	 */
+	public void beginFunctionCall(String functionName) throws IOException {
+
+		writeSeparator();
+		write(functionName);
+		beginNested('(');
+	}
+
+	/**
+	 * Writes the beginning of an object (<code>{</code>) as a value.
+	 */
+	public void beginObject() throws IOException {
+		begin('{');
+	}
+
+	/**
+	 * Writes any buffered characters to the underlying writer without closing it.
+	 */
+	@Override
+	public void close() throws IOException {
+		flush();
+	}
+
+	/**
+	 * Writes the end of an array (<code>]</code>).
+	 */
+	public void endArray() throws IOException {
+		end(']');
+	}
+
+	/**
+	 * Writes the end of a function call (<code>)</code>).
+	 */
+	public void endFunctionCall() throws IOException {
+		end(')');
+	}
+
+	/**
+	 * Writes the end of an object (<code>}</code>).
+	 */
+	public void endObject() throws IOException {
+		end('}');
+	}
+
+	/**
+	 * Writes any buffered characters to the underlying writer. The underlying writer itself is not flushed since
+	 * flushing the response writer would commit the response.
+	 */
+	@Override
+	public void flush() throws IOException {
+
+		if (bufferLength > 0) {
+
+			writer.write(buffer, 0, bufferLength);
+			bufferLength = 0;
+		}
+	}
+
+	@Override
+	public void write(int c) throws IOException {
+
+		if (bufferLength == BUFFER_CAPACITY) {
+			flush();
+		}
+
+		buffer[bufferLength++] = (char) c;
+	}
+
+	@Override
+	public void write(char[] cbuf, int off, int len) throws IOException {
+
+		if (len > (BUFFER_CAPACITY - bufferLength)) {
+
+			flush();
+
+			if (len > BUFFER_CAPACITY) {
+
+				writer.write(cbuf, off, len);
+
+				return;
+			}
+		}
+
+		System.arraycopy(cbuf, off, buffer, bufferLength, len);
+		bufferLength += len;
+	}
+
+	@Override
+	public void write(String str, int off, int len) throws IOException {
+
+		if (len > (BUFFER_CAPACITY - bufferLength)) {
+
+			flush();
+
+			if (len > BUFFER_CAPACITY) {
+
+				writer.write(str, off, len);
+
+				return;
+			}
+		}
+
+		str.getChars(off, off + len, buffer, bufferLength);
+		bufferLength += len;
+	}
+
+	/**
+	 * Writes the specified boolean as a value.
+	 */
+	public void writeBoolean(boolean value) throws IOException {
+
+		writeSeparator();
+		write(value ? "true" : "false");
+	}
+
+	/**
+	 * Writes the specified number as a value, or <code>null</code> if the number is null.
+	 */
+	public void writeNumber(Number value) throws IOException {
+		writeRaw(value);
+	}
+
+	/**
+	 * Writes the name of an object property followed by a colon. The next value that is written is the value of the
+	 * property.
+	 */
+	public void writePropertyName(String propertyName) throws IOException {
+
+		writeSeparator();
+		write(propertyName);
+		write(':');
+		propertyNameWritten = true;
+	}
+
+	/**
+	 * Writes the name of an object property followed by a colon for objects whose beginning was written directly to the
+	 * underlying writer. A comma is written before the property name unless it is the first property of the object.
+	 *
+	 * @param  propertyName  The name of the property.
+	 * @param  first         Flag indicating whether the property is the first property of the object.
+	 */
+	public void writePropertyName(String propertyName, boolean first) throws IOException {
+
+		if (!first) {
+			write(',');
+		}
+
+		write(propertyName);
+		write(':');
+		propertyNameWritten = true;
+	}
+
+	/**
+	 * Writes the string representation of the specified value as an unescaped JavaScript expression, or <code>
+	 * null</code> if the value is null.
+	 */
+	public void writeRaw(Object value) throws IOException {
+
+		writeSeparator();
+
+		if (value == null) {
+			write("null");
+		}
+		else {
+			write(value.toString());
+		}
+	}
+
+	/**
+	 * Writes the specified string as an escaped, single-quoted JavaScript string, or <code>null</code> if the string is
+	 * null.
+	 */
+	public void writeString(String value) throws IOException {
+
+		writeSeparator();
+
+		if (value == null) {
+			write("null");
+		}
+		else {
+			write('\'');
+			RendererUtil.escapeJavaScript(this, value);
+			write('\'');
+		}
+	}
+
+	/**
+	 * Writes the specified value. Arrays are written as JavaScript arrays (recursively), strings are written as escaped
+	 * JavaScript strings and all other values are written as raw JavaScript expressions.
+	 */
+	public void writeValue(Object value) throws IOException {
+
+		if (value instanceof Object[]) {
+
+			beginArray();
+
+			for (Object item : (Object[]) value) {
+				writeValue(item);
+			}
+
+			endArray();
+		}
+		else if (value instanceof String) {
+			writeString((String) value);
+		}
+		else {
+			writeRaw(value);
+		}
+	}
+
+	private void begin(char c) throws IOException {
+
+		writeSeparator();
+		beginNested(c);
+	}
+
+	private void beginNested(char c) throws IOException {
+
+		write(c);
+		depth++;
+
+		if (depth == separatorRequired.length) {
+
+			boolean[] newSeparatorRequired = new boolean[depth * 2];
+			System.arraycopy(separatorRequired, 0, newSeparatorRequired, 0, depth);
+			separatorRequired = newSeparatorRequired;
+		}
+
+		separatorRequired[depth] = false;
+	}
+
+	private void end(char c) throws IOException {
+
+		if (depth == 0) {
+			throw new IllegalStateException("Unable to write '" + c +
+				"' since there is no open array, object or function call.");
+		}
+
+		depth--;
+		write(c);
+	}
+
+	private void writeSeparator() throws IOException {
+
+		if (propertyNameWritten) {
+			propertyNameWritten = false;
+		}
+		else if (depth > 0) {
+
+			if (separatorRequired[depth]) {
+				write(',');
+			}
+			else {
+				separatorRequired[depth] = true;
+			}
+		}
+	}
+}
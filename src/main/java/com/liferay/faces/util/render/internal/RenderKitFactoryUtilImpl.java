@@ -54,6 +54,10 @@ import com.liferay.faces.util.application.ApplicationUtil;
  */
 public class RenderKitFactoryUtilImpl extends RenderKitFactory {
 
+	// Private Final Data Members
+	private final IdentityWrapperCache<RenderKit, RenderKit> renderKitCache =
+		new IdentityWrapperCache<RenderKit, RenderKit>();
+
 	// Private Data Members
 	private RenderKitFactory wrappedRenderKitFactory;
 
@@ -73,8 +77,17 @@ public class RenderKitFactoryUtilImpl extends RenderKitFactory {
 
 		// FACES-2615 Only Add the RenderKit to the delegation chain when the application is not starting up or
 		// shutting down.
-		if ("HTML_BASIC".equals(renderKitId) && !ApplicationUtil.isStartupOrShutdown(facesContext)) {
-			return new RenderKitUtilImpl(renderKit);
+		if ((renderKit != null) && "HTML_BASIC".equals(renderKitId) &&
+				!ApplicationUtil.isStartupOrShutdown(facesContext)) {
+
+			// JSF implementations call this method for every component, so each RenderKit is only wrapped once.
+			RenderKit renderKitUtilImpl = renderKitCache.getWrapper(renderKit);
+
+			if (renderKitUtilImpl == null) {
+				renderKitUtilImpl = renderKitCache.putWrapperIfAbsent(renderKit, new RenderKitUtilImpl(renderKit));
+			}
+
+			return renderKitUtilImpl;
 		}
 		else {
 			return renderKit;
@@ -29,6 +29,12 @@ import javax.faces.render.Renderer;
  */
 public class RenderKitUtilImpl extends RenderKitWrapper {
 
+	// Private Final Data Members
+	private final IdentityWrapperCache<Renderer, Renderer> bodyRendererCache =
+		new IdentityWrapperCache<Renderer, Renderer>();
+	private final IdentityWrapperCache<Renderer, Renderer> resourceRendererCache =
+		new IdentityWrapperCache<Renderer, Renderer>();
+
 	// Private Data Members
 	private RenderKit wrappedRenderKit;
 
@@ -41,13 +47,31 @@ public class RenderKitUtilImpl extends RenderKitWrapper {
 
 		Renderer renderer = super.getRenderer(family, rendererType);
 
-		if (UIOutput.COMPONENT_FAMILY.equals(family) && "javax.faces.Body".equals(rendererType)) {
-			renderer = new BodyRendererUtilImpl(renderer);
+		// The wrappers are stateless (with respect to the components that they render), so each renderer is only
+		// wrapped once rather than every time that this method is called.
+		if ((renderer != null) && UIOutput.COMPONENT_FAMILY.equals(family) &&
+				"javax.faces.Body".equals(rendererType)) {
+
+			Renderer bodyRenderer = bodyRendererCache.getWrapper(renderer);
+
+			if (bodyRenderer == null) {
+				bodyRenderer = bodyRendererCache.putWrapperIfAbsent(renderer, new BodyRendererUtilImpl(renderer));
+			}
+
+			renderer = bodyRenderer;
 		}
-		else if (UIOutput.COMPONENT_FAMILY.equals(family) &&
+		else if ((renderer != null) && UIOutput.COMPONENT_FAMILY.equals(family) &&
 				("javax.faces.resource.Script".equals(rendererType) ||
 					"javax.faces.resource.Stylesheet".equals(rendererType))) {
-			renderer = new ResourceRendererUtilImpl(renderer);
+
+			Renderer resourceRenderer = resourceRendererCache.getWrapper(renderer);
+
+			if (resourceRenderer == null) {
+				resourceRenderer = resourceRendererCache.putWrapperIfAbsent(renderer,
+						new ResourceRendererUtilImpl(renderer));
+			}
+
+			renderer = resourceRenderer;
 		}
 
 		return renderer;
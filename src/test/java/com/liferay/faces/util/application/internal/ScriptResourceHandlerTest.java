@@ -0,0 +1,282 @@
+/**
+ * Copyright (c) 2000-2018 Liferay, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.liferay.faces.util.application.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.faces.application.Application;
+import javax.faces.application.ApplicationWrapper;
+import javax.faces.application.ResourceHandler;
+import javax.faces.application.ResourceHandlerWrapper;
+import javax.faces.application.ViewHandler;
+import javax.faces.application.ViewHandlerWrapper;
+import javax.faces.context.ExternalContext;
+import javax.faces.context.ExternalContextWrapper;
+import javax.faces.context.FacesContext;
+import javax.faces.context.FacesContextWrapper;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.liferay.faces.util.cache.internal.CacheFactoryImpl;
+import com.liferay.faces.util.client.internal.ScriptImpl;
+import com.liferay.faces.util.client.internal.SegmentedScript;
+import com.liferay.faces.util.internal.SegmentedCharBuffer;
+
+
+/**
+ * @author  Kyle Stiemann
+ */
+public class ScriptResourceHandlerTest {
+
+	private static Map<String, Object> newApplicationMap() {
+
+		Map<String, Object> applicationMap = new HashMap<String, Object>();
+		CacheFactoryImpl cacheFactory = new CacheFactoryImpl();
+		applicationMap.put(ScriptResourceHandler.COMBINED_SCRIPT_CACHE, cacheFactory.getConcurrentLRUCache(16, 1024));
+		applicationMap.put(ScriptResourceHandler.RENDERED_COMBINED_SCRIPT_CACHE,
+			cacheFactory.getConcurrentLRUCache(16, 4096));
+		applicationMap.put(ScriptResourceHandler.RENDERED_SCRIPT_CACHE, cacheFactory.getConcurrentLRUCache(16, 4096));
+
+		return applicationMap;
+	}
+
+	private static FacesContext newFacesContext(final ExternalContext externalContext) {
+
+		final ViewHandler viewHandler = new ViewHandlerWrapper() {
+
+				@Override
+				public String getActionURL(FacesContext facesContext, String viewId) {
+					return "/context/faces" + viewId;
+				}
+
+				@Override
+				public ViewHandler getWrapped() {
+					throw new UnsupportedOperationException();
+				}
+			};
+		final Application application = new ApplicationWrapper() {
+
+				@Override
+				public ViewHandler getViewHandler() {
+					return viewHandler;
+				}
+
+				@Override
+				public Application getWrapped() {
+					throw new UnsupportedOperationException();
+				}
+			};
+
+		return new FacesContextWrapper() {
+
+				@Override
+				public Application getApplication() {
+					return application;
+				}
+
+				@Override
+				public ExternalContext getExternalContext() {
+					return externalContext;
+				}
+
+				@Override
+				public FacesContext getWrapped() {
+					throw new UnsupportedOperationException();
+				}
+			};
+	}
+
+	@Test
+	public void testHandleResourceRequest() throws IOException {
+
+		Map<String, Object> applicationMap = newApplicationMap();
+		String combinedScript = "alert('é');";
+		TestExternalContext externalContext = new TestExternalContext(applicationMap, null, null);
+
+		// A combined script is only externalized once it has been rendered more than once.
+		Assert.assertNull(ScriptResourceHandler.getRequestPath(newFacesContext(externalContext), combinedScript));
+
+		String requestPath = ScriptResourceHandler.getRequestPath(newFacesContext(externalContext), combinedScript);
+		String prefix = "/context/faces" + ResourceHandler.RESOURCE_IDENTIFIER + "/";
+		Assert.assertTrue(requestPath, requestPath.startsWith(prefix));
+		Assert.assertTrue(requestPath, requestPath.endsWith("?ln=" + ScriptResourceHandler.LIBRARY_NAME));
+
+		String resourceName = requestPath.substring(prefix.length(), requestPath.indexOf('?'));
+		ScriptResourceHandler scriptResourceHandler = new ScriptResourceHandler(null);
+
+		// The combined script is served with its hash as the ETag and may only be cached privately.
+		externalContext = new TestExternalContext(applicationMap, resourceName, null);
+		scriptResourceHandler.handleResourceRequest(newFacesContext(externalContext));
+		Assert.assertEquals(200, externalContext.responseStatus);
+		Assert.assertEquals(combinedScript, externalContext.responseOutputStream.toString("UTF-8"));
+		Assert.assertEquals("private, max-age=31536000, immutable",
+			externalContext.responseHeaders.get("Cache-Control"));
+		Assert.assertEquals("\"" + resourceName + "\"", externalContext.responseHeaders.get("ETag"));
+		Assert.assertEquals(combinedScript.getBytes("UTF-8").length, externalContext.responseContentLength);
+
+		// A matching If-None-Match header is answered with 304 and no content.
+		externalContext = new TestExternalContext(applicationMap, resourceName, "\"" + resourceName + "\"");
+		scriptResourceHandler.handleResourceRequest(newFacesContext(externalContext));
+		Assert.assertEquals(304, externalContext.responseStatus);
+		Assert.assertEquals(0, externalContext.responseOutputStream.size());
+
+		// A resource that is not cached (for example because it was rendered by another cluster node) is not found.
+		externalContext = new TestExternalContext(applicationMap, "0123456789abcdef", null);
+		scriptResourceHandler.handleResourceRequest(newFacesContext(externalContext));
+		Assert.assertEquals(404, externalContext.responseStatus);
+		Assert.assertEquals(0, externalContext.responseOutputStream.size());
+	}
+
+	@Test
+	public void testHandleResourceRequestOfOtherLibrary() throws IOException {
+
+		final boolean[] delegated = new boolean[1];
+		ResourceHandler wrappedResourceHandler = new ResourceHandlerWrapper() {
+
+				@Override
+				public ResourceHandler getWrapped() {
+					throw new UnsupportedOperationException();
+				}
+
+				@Override
+				public void handleResourceRequest(FacesContext facesContext) {
+					delegated[0] = true;
+				}
+			};
+		TestExternalContext externalContext = new TestExternalContext(newApplicationMap(), "jsf.js", null);
+		externalContext.requestParameterMap.put("ln", "javax.faces");
+		new ScriptResourceHandler(wrappedResourceHandler).handleResourceRequest(newFacesContext(externalContext));
+		Assert.assertTrue(delegated[0]);
+		Assert.assertEquals(200, externalContext.responseStatus);
+	}
+
+	@Test
+	public void testIsStaticScript() {
+
+		TestExternalContext externalContext = new TestExternalContext(newApplicationMap(), null, null);
+		Assert.assertFalse(ScriptResourceHandler.isStaticScript(externalContext, new ScriptImpl("a();")));
+		Assert.assertTrue(ScriptResourceHandler.isStaticScript(externalContext, new ScriptImpl("a();")));
+		Assert.assertFalse(ScriptResourceHandler.isStaticScript(externalContext, new ScriptImpl("b();")));
+
+		// A SegmentedScript is identified by the same key as a script with the same source code.
+		SegmentedCharBuffer segmentedCharBuffer = new SegmentedCharBuffer();
+		segmentedCharBuffer.write("b();");
+		Assert.assertTrue(ScriptResourceHandler.isStaticScript(externalContext,
+			new SegmentedScript(segmentedCharBuffer)));
+	}
+
+	private static final class TestExternalContext extends ExternalContextWrapper {
+
+		// Private Final Data Members
+		private final Map<String, Object> applicationMap;
+		private final Map<String, String> requestHeaderMap = new HashMap<String, String>();
+		private final Map<String, String> requestParameterMap = new HashMap<String, String>();
+		private final String requestPathInfo;
+		private final Map<String, String> responseHeaders = new HashMap<String, String>();
+		private final ByteArrayOutputStream responseOutputStream = new ByteArrayOutputStream();
+
+		// Private Data Members
+		private int responseContentLength = -1;
+		private int responseStatus = 200;
+
+		public TestExternalContext(Map<String, Object> applicationMap, String resourceName, String ifNoneMatch) {
+
+			this.applicationMap = applicationMap;
+			this.requestParameterMap.put("ln", ScriptResourceHandler.LIBRARY_NAME);
+
+			if (resourceName == null) {
+				this.requestPathInfo = null;
+			}
+			else {
+				this.requestPathInfo = ResourceHandler.RESOURCE_IDENTIFIER + "/" + resourceName;
+			}
+
+			if (ifNoneMatch != null) {
+				this.requestHeaderMap.put("If-None-Match", ifNoneMatch);
+			}
+		}
+
+		@Override
+		public String encodeResourceURL(String url) {
+			return url;
+		}
+
+		@Override
+		public Map<String, Object> getApplicationMap() {
+			return applicationMap;
+		}
+
+		@Override
+		public String getInitParameter(String name) {
+			return null;
+		}
+
+		@Override
+		public Map<String, String> getRequestHeaderMap() {
+			return requestHeaderMap;
+		}
+
+		@Override
+		public Map<String, String> getRequestParameterMap() {
+			return requestParameterMap;
+		}
+
+		@Override
+		public String getRequestPathInfo() {
+			return requestPathInfo;
+		}
+
+		@Override
+		public String getRequestServletPath() {
+			return null;
+		}
+
+		@Override
+		public OutputStream getResponseOutputStream() {
+			return responseOutputStream;
+		}
+
+		@Override
+		public ExternalContext getWrapped() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void setResponseContentLength(int length) {
+			responseContentLength = length;
+		}
+
+		@Override
+		public void setResponseContentType(String contentType) {
+			// no-op
+		}
+
+		@Override
+		public void setResponseHeader(String name, String value) {
+			responseHeaders.put(name, value);
+		}
+
+		@Override
+		public void setResponseStatus(int statusCode) {
+			responseStatus = statusCode;
+		}
+	}
+}
@@ -0,0 +1,243 @@
+/**
+ * Copyright (c) 2000-2018 Liferay, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.liferay.faces.util.client.internal;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+
+/**
+ * @author  Kyle Stiemann
+ */
+public class BrowserProfileTest {
+
+	// Private Constants
+	private static final String[] USER_AGENTS = new String[] {
+			"Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/70.0.3538.77 " +
+			"Safari/537.36",
+			"Mozilla/5.0 (X11; Ubuntu; Linux x86_64; rv:63.0) Gecko/20100101 Firefox/63.0",
+			"Mozilla/5.0 (Macintosh; Intel Mac OS X 10_14_1) AppleWebKit/605.1.15 (KHTML, like Gecko) " +
+			"Version/12.0.1 Safari/605.1.15",
+			"Mozilla/5.0 (iPhone; CPU iPhone OS 12_1 like Mac OS X) AppleWebKit/605.1.15 (KHTML, like Gecko) " +
+			"Version/12.0 Mobile/15E148 Safari/604.1",
+			"Mozilla/5.0 (iPad; CPU OS 11_0 like Mac OS X) AppleWebKit/604.1.34 (KHTML, like Gecko) Version/11.0 " +
+			"Mobile/15A5341f Safari/604.1",
+			"Mozilla/5.0 (Linux; Android 8.0.0; Nexus 5X Build/OPR4.170623.006) AppleWebKit/537.36 (KHTML, like " +
+			"Gecko) Chrome/70.0.3538.80 Mobile Safari/537.36",
+			"Mozilla/4.0 (compatible; MSIE 8.0; Windows NT 6.1; WOW64; Trident/4.0)",
+			"Mozilla/5.0 (compatible; MSIE 10.0; Windows NT 6.2; Trident/6.0)",
+			"Mozilla/5.0 (Windows NT 6.1; WOW64; Trident/7.0; rv:11.0) like Gecko",
+			"Opera/9.80 (Windows NT 6.0) Presto/2.12.388 Version/12.14",
+			"Opera/9.80 (Android; Opera Mini/7.5.33361/31.1448; U; en) Presto/2.8.119 Version/11.1010",
+			"Mozilla/5.0 (Windows; U; en-US) AppleWebKit/531.9 (KHTML, like Gecko) AdobeAIR/2.5.1",
+			"Mozilla/5.0 (X11; SunOS i86pc; rv:52.0) Gecko/20100101 Firefox/52.0",
+			"curl/7.54.0", "",
+
+			// Edge cases of the version and revision parsing.
+			"Mozilla/5.0 (Macintosh; U; PPC Mac OS X Mach-O; en-US; rvrv:1.8.1.9) Gecko Camino/1.5.4",
+			"Mozilla/3.0 (Windows 3.1; 16bit) MSIE/.5 Minefield/3.7a1 Chrome:4", "Version/ Firefox/70 ie",
+			"\u00c4\u00d6 Mozilla/5.0 Camino/2.2.1 rv:1.9.2.28 AppleWebKit/"
+		};
+
+	private static HttpServletRequest newHttpServletRequest(final String userAgent) {
+
+		final Map<String, Object> attributes = new HashMap<String, Object>();
+		InvocationHandler invocationHandler = new InvocationHandler() {
+
+				@Override
+				public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+					String methodName = method.getName();
+
+					if ("getHeader".equals(methodName) && "User-Agent".equals(args[0])) {
+						return userAgent;
+					}
+					else if ("getAttribute".equals(methodName)) {
+						return attributes.get((String) args[0]);
+					}
+					else if ("setAttribute".equals(methodName)) {
+						attributes.put((String) args[0], args[1]);
+					}
+
+					return null;
+				}
+			};
+
+		return (HttpServletRequest) Proxy.newProxyInstance(BrowserProfileTest.class.getClassLoader(),
+				new Class<?>[] { HttpServletRequest.class }, invocationHandler);
+	}
+
+	@Test
+	public void testBrowserProfileMatchesLiferayPortalBrowserSniffer() {
+
+		LiferayPortalBrowserSnifferImpl browserSniffer = new LiferayPortalBrowserSnifferImpl();
+
+		for (String userAgent : USER_AGENTS) {
+
+			HttpServletRequest request = newHttpServletRequest(userAgent);
+			BrowserProfile browserProfile = BrowserProfile.newInstance(userAgent);
+			String message = userAgent;
+			Assert.assertEquals(message, browserSniffer.getBrowserId(request), browserProfile.getBrowserId());
+			Assert.assertEquals(message, browserSniffer.getMajorVersion(request), browserProfile.getMajorVersion(),
+				0.0f);
+			Assert.assertEquals(message, browserSniffer.getRevision(request), browserProfile.getRevision());
+			Assert.assertEquals(message, browserSniffer.getVersion(request), browserProfile.getVersion());
+			Assert.assertEquals(message, browserSniffer.isAir(request), browserProfile.isAir());
+			Assert.assertEquals(message, browserSniffer.isAndroid(request), browserProfile.isAndroid());
+			Assert.assertEquals(message, browserSniffer.isChrome(request), browserProfile.isChrome());
+			Assert.assertEquals(message, browserSniffer.isFirefox(request), browserProfile.isFirefox());
+			Assert.assertEquals(message, browserSniffer.isGecko(request), browserProfile.isGecko());
+			Assert.assertEquals(message, browserSniffer.isIe(request), browserProfile.isIe());
+			Assert.assertEquals(message, browserSniffer.isIeOnWin32(request), browserProfile.isIeOnWin32());
+			Assert.assertEquals(message, browserSniffer.isIeOnWin64(request), browserProfile.isIeOnWin64());
+			Assert.assertEquals(message, userAgent.toLowerCase().contains("ipad"), browserProfile.isIpad());
+			Assert.assertEquals(message, browserSniffer.isIphone(request), browserProfile.isIphone());
+			Assert.assertEquals(message, browserSniffer.isLinux(request), browserProfile.isLinux());
+			Assert.assertEquals(message, browserSniffer.isMac(request), browserProfile.isMac());
+			Assert.assertEquals(message, browserSniffer.isMobile(request), browserProfile.isMobile());
+			Assert.assertEquals(message, browserSniffer.isMozilla(request), browserProfile.isMozilla());
+			Assert.assertEquals(message, browserSniffer.isOpera(request), browserProfile.isOpera());
+			Assert.assertEquals(message, browserSniffer.isRtf(request), browserProfile.isRtf());
+			Assert.assertEquals(message, browserSniffer.isSafari(request), browserProfile.isSafari());
+			Assert.assertEquals(message, browserSniffer.isSun(request), browserProfile.isSun());
+			Assert.assertEquals(message, browserSniffer.isWebKit(request), browserProfile.isWebKit());
+			Assert.assertEquals(message, browserSniffer.isWindows(request), browserProfile.isWindows());
+		}
+	}
+
+	@Test
+	public void testClientHints() {
+
+		// A reduced User-Agent string always claims a desktop platform and a ".0.0.0" version.
+		String reducedUserAgent = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) " +
+			"Chrome/110.0.0.0 Safari/537.36";
+		ClientHints clientHints = ClientHints.newInstance(
+				"\"Chromium\";v=\"110\", \"Not A(Brand\";v=\"24\", \"Microsoft Edge\";v=\"110\"", "?1", "\"Android\"");
+		BrowserProfile browserProfile = BrowserProfile.newInstance(reducedUserAgent, clientHints);
+		Assert.assertTrue(browserProfile.isChrome());
+		Assert.assertTrue(browserProfile.isAndroid());
+		Assert.assertTrue(browserProfile.isLinux());
+		Assert.assertTrue(browserProfile.isMobile());
+		Assert.assertFalse(browserProfile.isWindows());
+		Assert.assertEquals("110.0", browserProfile.getVersion());
+		Assert.assertEquals(110.0f, browserProfile.getMajorVersion(), 0.0f);
+
+		// A client hint that disagrees with the User-Agent takes precedence.
+		clientHints = ClientHints.newInstance("\"Google Chrome\";v=\"111\", \"Not(A:Brand\";v=\"8\"", "?0",
+				"\"macOS\"");
+		browserProfile = BrowserProfile.newInstance(reducedUserAgent, clientHints);
+		Assert.assertTrue(browserProfile.isMac());
+		Assert.assertFalse(browserProfile.isMobile());
+		Assert.assertFalse(browserProfile.isWindows());
+		Assert.assertEquals("111", browserProfile.getVersion());
+
+		// Without client hints, the User-Agent is the fallback.
+		Assert.assertNull(ClientHints.newInstance(null, null, null));
+		Assert.assertTrue(BrowserProfile.newInstance(reducedUserAgent, null).isWindows());
+	}
+
+	@Test
+	public void testClientHintsOfEdge() {
+
+		String userAgent = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) " +
+			"Chrome/120.0.0.0 Safari/537.36 Edg/120.0.2210.91";
+		String uaVersion = BrowserProfile.newInstance(userAgent, null).getVersion();
+
+		// The Edge major version agrees with the Chromium major version, so the version from the User-Agent is kept.
+		ClientHints clientHints = ClientHints.newInstance(
+				"\"Not_A Brand\";v=\"8\", \"Chromium\";v=\"120\", \"Microsoft Edge\";v=\"120\"", "?0",
+				"\"Windows\"");
+		BrowserProfile browserProfile = BrowserProfile.newInstance(userAgent, clientHints);
+		Assert.assertTrue(browserProfile.isChrome());
+		Assert.assertTrue(browserProfile.isWindows());
+		Assert.assertFalse(browserProfile.isMobile());
+		Assert.assertFalse(browserProfile.isOpera());
+		Assert.assertEquals(uaVersion, browserProfile.getVersion());
+
+		// A mobile hint that is not a structured boolean and a platform that the sniffer does not know about do not
+		// identify anything, so the values from the User-Agent are kept.
+		clientHints = ClientHints.newInstance("\"Chromium\";v=\"120\", \"Microsoft Edge\";v=\"121\"", "1",
+				"\"Chrome OS\"");
+		browserProfile = BrowserProfile.newInstance(userAgent, clientHints);
+		Assert.assertTrue(browserProfile.isWindows());
+		Assert.assertFalse(browserProfile.isMobile());
+		Assert.assertEquals(uaVersion, browserProfile.getVersion());
+	}
+
+	@Test
+	public void testClientHintsOfOpera() {
+
+		// Opera's own major version differs from the version of the Chromium engine that it is based on.
+		String userAgent = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) " +
+			"Chrome/119.0.0.0 Safari/537.36 OPR/105.0.0.0";
+		BrowserProfile userAgentProfile = BrowserProfile.newInstance(userAgent, null);
+		ClientHints clientHints = ClientHints.newInstance(
+				"\"Opera\";v=\"105\", \"Chromium\";v=\"119\", \"Not?A_Brand\";v=\"24\"", "?0", "\"Windows\"");
+		BrowserProfile browserProfile = BrowserProfile.newInstance(userAgent, clientHints);
+		Assert.assertTrue(browserProfile.isOpera());
+		Assert.assertTrue(browserProfile.isChrome());
+		Assert.assertTrue(browserProfile.isWindows());
+		Assert.assertFalse(browserProfile.isIe());
+		Assert.assertEquals(userAgentProfile.getVersion(), browserProfile.getVersion());
+		Assert.assertEquals(119.0f, browserProfile.getMajorVersion(), 0.0f);
+
+		// Without a Chromium brand, the Opera version does not replace the version from the User-Agent.
+		clientHints = ClientHints.newInstance("\"Opera\";v=\"106\"", null, null);
+		browserProfile = BrowserProfile.newInstance(userAgent, clientHints);
+		Assert.assertTrue(browserProfile.isOpera());
+		Assert.assertEquals(userAgentProfile.getVersion(), browserProfile.getVersion());
+		Assert.assertEquals(userAgentProfile.isWindows(), browserProfile.isWindows());
+		Assert.assertEquals(userAgentProfile.isMobile(), browserProfile.isMobile());
+	}
+
+	@Test
+	public void testDetection() {
+
+		BrowserProfile chrome = BrowserProfile.newInstance(USER_AGENTS[0]);
+		Assert.assertTrue(chrome.isChrome());
+		Assert.assertTrue(chrome.isWindows());
+		Assert.assertFalse(chrome.isMobile());
+		Assert.assertEquals("70.0", chrome.getVersion());
+
+		BrowserProfile firefox = BrowserProfile.newInstance(USER_AGENTS[1]);
+		Assert.assertTrue(firefox.isFirefox());
+		Assert.assertTrue(firefox.isLinux());
+		Assert.assertEquals("firefox", firefox.getBrowserId());
+		Assert.assertEquals(63.0f, firefox.getMajorVersion(), 0.0f);
+
+		BrowserProfile ie = BrowserProfile.newInstance(USER_AGENTS[6]);
+		Assert.assertTrue(ie.isIe());
+		Assert.assertTrue(ie.isIeOnWin64());
+		Assert.assertEquals("ie", ie.getBrowserId());
+
+		BrowserProfile ipad = BrowserProfile.newInstance(USER_AGENTS[4]);
+		Assert.assertTrue(ipad.isIpad());
+		Assert.assertTrue(ipad.isMobile());
+		Assert.assertTrue(ipad.isSafari());
+
+		BrowserProfile missing = BrowserProfile.newInstance(null);
+		Assert.assertEquals("other", missing.getBrowserId());
+		Assert.assertEquals("", missing.getVersion());
+	}
+}
@@ -0,0 +1,84 @@
+/**
+ * Copyright (c) 2000-2018 Liferay, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.liferay.faces.util.client.internal;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.liferay.faces.util.client.Script;
+
+
+/**
+ * @author  Kyle Stiemann
+ */
+public class ScriptsEncoderImplTest {
+
+	// Private Constants
+	private static final String ES6_SCRIPT = "require(['metal\\x2ddom\\x2fsrc\\x2fdom','metal\\x2fsrc\\x2fmetal']," +
+		"function(metalDomSrcDom,metalSrcMetal){metalDomSrcDom.x();\n});";
+
+	private static String encodeBatchedScripts(Script... scripts) throws IOException {
+
+		List<Script> scriptList = new ArrayList<Script>();
+
+		for (Script script : scripts) {
+			scriptList.add(script);
+		}
+
+		StringWriter stringWriter = new StringWriter();
+		new ScriptsEncoderImpl().encodeBatchedScripts(stringWriter, scriptList);
+
+		return stringWriter.toString();
+	}
+
+	@Test
+	public void testEncodeBatchedScripts() throws IOException {
+
+		Script alloy1 = new ScriptImpl("a1();", new String[] { "node", "event" }, Script.ModulesType.ALLOY);
+		Script alloy2 = new ScriptImpl("a2();", new String[] { "event", "io" }, Script.ModulesType.ALLOY);
+		Script es6 = new ScriptImpl("metalDomSrcDom.x();", new String[] { "metal-dom/src/dom", "metal/src/metal" },
+				Script.ModulesType.ES6);
+		Script untyped = new ScriptImpl("u();");
+
+		// Consecutive scripts of the same type share a single module loader call with the union of their modules.
+		Assert.assertEquals("YUI().use('node','event','io',function(A){a1();\na2();\n});",
+			encodeBatchedScripts(alloy1, alloy2));
+
+		// The exports of each ES6 module are bound to a callback parameter.
+		Assert.assertEquals(ES6_SCRIPT, encodeBatchedScripts(es6));
+
+		// Only consecutive runs are batched, so the relative order of the scripts is preserved.
+		Assert.assertEquals("YUI().use('node','event',function(A){a1();\n});u();" + ES6_SCRIPT +
+			"YUI().use('event','io',function(A){a2();\n});", encodeBatchedScripts(alloy1, untyped, es6, alloy2));
+	}
+
+	@Test
+	public void testGetModuleVariableName() throws IOException {
+
+		Assert.assertEquals("metalDomSrcDom", ScriptsEncoderImpl.getModuleVariableName("metal-dom/src/dom"));
+		Assert.assertEquals("frontendJsWeb", ScriptsEncoderImpl.getModuleVariableName("frontend-js-web"));
+		Assert.assertEquals("_2d", ScriptsEncoderImpl.getModuleVariableName("2d"));
+
+		// Modules with the same variable name are bound to distinct callback parameters.
+		Script script = new ScriptImpl("", new String[] { "a-b", "a/b" }, Script.ModulesType.ES6);
+		Assert.assertEquals("require(['a\\x2db','a\\x2fb'],function(aB,aB2){\n});", encodeBatchedScripts(script));
+	}
+}
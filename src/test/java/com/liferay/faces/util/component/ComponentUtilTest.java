@@ -0,0 +1,37 @@
+/**
+ * Copyright (c) 2000-2018 Liferay, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.liferay.faces.util.component;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+
+/**
+ * @author  Kyle Stiemann
+ */
+public class ComponentUtilTest {
+
+	@Test
+	public void testEscapeClientId() {
+
+		Assert.assertNull(ComponentUtil.escapeClientId(null));
+		Assert.assertEquals("", ComponentUtil.escapeClientId(""));
+		Assert.assertEquals("form", ComponentUtil.escapeClientId("form"));
+		Assert.assertEquals("\\\\:", ComponentUtil.escapeClientId(":"));
+		Assert.assertEquals("form\\\\:table\\\\:0\\\\:input", ComponentUtil.escapeClientId("form:table:0:input"));
+		Assert.assertEquals("form\\\\:\\\\:input\\\\:", ComponentUtil.escapeClientId("form::input:"));
+	}
+}
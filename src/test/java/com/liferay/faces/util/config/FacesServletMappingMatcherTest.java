@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) 2000-2018 Liferay, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.liferay.faces.util.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.liferay.faces.util.config.internal.ConfiguredServletMappingImpl;
+import com.liferay.faces.util.config.internal.FacesServletMappingMatcherImpl;
+
+
+/**
+ * @author  Kyle Stiemann
+ */
+public class FacesServletMappingMatcherTest {
+
+	private static FacesServletMappingMatcher newFacesServletMappingMatcher(String... urlPatterns) {
+
+		List<ConfiguredServletMapping> configuredServletMappings = new ArrayList<ConfiguredServletMapping>();
+
+		for (String urlPattern : urlPatterns) {
+			configuredServletMappings.add(new ConfiguredServletMappingImpl("Faces Servlet", urlPattern, false));
+		}
+
+		return new FacesServletMappingMatcherImpl(configuredServletMappings);
+	}
+
+	@Test
+	public void testDefaultMatch() {
+
+		FacesServletMappingMatcher facesServletMappingMatcher = newFacesServletMappingMatcher("*.faces", "/");
+		Assert.assertEquals("/", facesServletMappingMatcher.getServletMapping("/views/view.xhtml").getUrlPattern());
+		Assert.assertEquals("*.faces", facesServletMappingMatcher.getServletMapping("/views/view.faces")
+			.getUrlPattern());
+	}
+
+	@Test
+	public void testExactMatch() {
+
+		FacesServletMappingMatcher facesServletMappingMatcher = newFacesServletMappingMatcher("/faces/*",
+				"/faces/exact");
+		Assert.assertEquals("/faces/exact", facesServletMappingMatcher.getServletMapping("/faces/exact")
+			.getUrlPattern());
+		Assert.assertEquals("/faces/exact", facesServletMappingMatcher.getViewId("/faces/exact"));
+		Assert.assertEquals("/faces/*", facesServletMappingMatcher.getServletMapping("/faces/exact/view.xhtml")
+			.getUrlPattern());
+	}
+
+	@Test
+	public void testExtensionMatch() {
+
+		FacesServletMappingMatcher facesServletMappingMatcher = newFacesServletMappingMatcher("*.faces", "*.jsf",
+				"*.xhtml");
+		Assert.assertTrue(facesServletMappingMatcher.isFacesMapped("/views/view.faces"));
+		Assert.assertTrue(facesServletMappingMatcher.isFacesMapped("/views/view.jsf"));
+		Assert.assertTrue(facesServletMappingMatcher.isFacesMapped("/view.xhtml"));
+		Assert.assertFalse(facesServletMappingMatcher.isFacesMapped("/views/view.html"));
+		Assert.assertFalse(facesServletMappingMatcher.isFacesMapped("/views.faces/view"));
+		Assert.assertFalse(facesServletMappingMatcher.isFacesMapped("/views/view.facesx"));
+		Assert.assertNull(facesServletMappingMatcher.getViewId("/views/view.html"));
+		Assert.assertEquals("/views/view.faces", facesServletMappingMatcher.getViewId("/views/view.faces"));
+	}
+
+	@Test
+	public void testPrefixMatch() {
+
+		FacesServletMappingMatcher facesServletMappingMatcher = newFacesServletMappingMatcher("/faces/*",
+				"/faces/admin/*", "*.faces");
+		Assert.assertEquals("/faces/*", facesServletMappingMatcher.getServletMapping("/faces/view.xhtml")
+			.getUrlPattern());
+		Assert.assertEquals("/faces/admin/*", facesServletMappingMatcher.getServletMapping("/faces/admin/view.xhtml")
+			.getUrlPattern());
+		Assert.assertEquals("/faces/*", facesServletMappingMatcher.getServletMapping("/faces/administrator.xhtml")
+			.getUrlPattern());
+		Assert.assertEquals("/faces/*", facesServletMappingMatcher.getServletMapping("/faces/view.faces")
+			.getUrlPattern());
+		Assert.assertFalse(facesServletMappingMatcher.isFacesMapped("/facesview.xhtml"));
+		Assert.assertEquals("/view.xhtml", facesServletMappingMatcher.getViewId("/faces/view.xhtml"));
+		Assert.assertEquals("/view.xhtml", facesServletMappingMatcher.getViewId("/faces/admin/view.xhtml"));
+
+		// The servlet-path of a path-mapped servlet-mapping is mapped to the FacesServlet, but it has no path-info and
+		// therefore does not identify a view.
+		Assert.assertTrue(facesServletMappingMatcher.isFacesMapped("/faces"));
+		Assert.assertNull(facesServletMappingMatcher.getViewId("/faces"));
+	}
+}
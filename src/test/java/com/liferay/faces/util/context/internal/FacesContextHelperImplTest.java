@@ -0,0 +1,140 @@
+/**
+ * Copyright (c) 2000-2018 Liferay, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.liferay.faces.util.context.internal;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.faces.context.ExternalContext;
+import javax.faces.context.ExternalContextWrapper;
+import javax.faces.context.FacesContext;
+import javax.faces.context.FacesContextWrapper;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.liferay.faces.util.client.Script;
+import com.liferay.faces.util.client.internal.ScriptImpl;
+import com.liferay.faces.util.client.internal.SegmentedScript;
+import com.liferay.faces.util.config.WebConfigParam;
+import com.liferay.faces.util.internal.SegmentedCharBuffer;
+
+
+/**
+ * @author  Kyle Stiemann
+ */
+public class FacesContextHelperImplTest {
+
+	private static FacesContext newFacesContext(final boolean deduplicateScripts) {
+
+		final ExternalContext externalContext = new ExternalContextWrapper() {
+
+				@Override
+				public String getInitParameter(String name) {
+
+					if (WebConfigParam.DeduplicateScripts.getName().equals(name)) {
+						return Boolean.toString(deduplicateScripts);
+					}
+
+					return null;
+				}
+
+				@Override
+				public ExternalContext getWrapped() {
+					throw new UnsupportedOperationException();
+				}
+			};
+		final Map<Object, Object> attributes = new HashMap<Object, Object>();
+
+		return new FacesContextWrapper() {
+
+				@Override
+				public Map<Object, Object> getAttributes() {
+					return attributes;
+				}
+
+				@Override
+				public ExternalContext getExternalContext() {
+					return externalContext;
+				}
+
+				@Override
+				public FacesContext getWrapped() {
+					throw new UnsupportedOperationException();
+				}
+			};
+	}
+
+	private static Script newSegmentedScript(String sourceCode) {
+
+		SegmentedCharBuffer segmentedCharBuffer = new SegmentedCharBuffer();
+		segmentedCharBuffer.write(sourceCode);
+
+		return new SegmentedScript(segmentedCharBuffer);
+	}
+
+	@Test
+	public void testDeduplicateScripts() {
+
+		FacesContextHelperImpl facesContextHelper = new FacesContextHelperImpl();
+		FacesContext facesContext = newFacesContext(true);
+		facesContextHelper.addScript(facesContext, newSegmentedScript("alert('a');"));
+		facesContextHelper.addScript(facesContext, new ScriptImpl("alert('a');"));
+		facesContextHelper.addScript(facesContext, newSegmentedScript("alert('a');"));
+		facesContextHelper.addScript(facesContext, newSegmentedScript("alert('b');"));
+
+		// Scripts with the same source code but different modules are not duplicates.
+		facesContextHelper.addScript(facesContext,
+			new ScriptImpl("alert('a');", new String[] { "node" }, Script.ModulesType.ALLOY));
+		facesContextHelper.addScript(facesContext,
+			new ScriptImpl("alert('a');", new String[] { "node" }, Script.ModulesType.ALLOY));
+		Assert.assertEquals(3, facesContextHelper.getScripts(facesContext).size());
+		Assert.assertEquals("alert('b');", facesContextHelper.getScripts(facesContext).get(1).getSourceCode());
+		Assert.assertEquals(3, facesContextHelper.getSuppressedScriptCount(facesContext));
+		Assert.assertEquals(3L, facesContextHelper.getTotalSuppressedScriptCount());
+
+		// The suppressed script count is per request while the total is across all requests.
+		facesContext = newFacesContext(true);
+		facesContextHelper.addScript(facesContext, new ScriptImpl("alert('a');"));
+		facesContextHelper.addScript(facesContext, new ScriptImpl("alert('a');"));
+		Assert.assertEquals(1, facesContextHelper.getScripts(facesContext).size());
+		Assert.assertEquals(1, facesContextHelper.getSuppressedScriptCount(facesContext));
+		Assert.assertEquals(4L, facesContextHelper.getTotalSuppressedScriptCount());
+
+		// Scripts are only deduplicated when the feature is enabled.
+		facesContext = newFacesContext(false);
+		facesContextHelper.addScript(facesContext, new ScriptImpl("alert('a');"));
+		facesContextHelper.addScript(facesContext, new ScriptImpl("alert('a');"));
+		Assert.assertEquals(2, facesContextHelper.getScripts(facesContext).size());
+		Assert.assertEquals(0, facesContextHelper.getSuppressedScriptCount(facesContext));
+		Assert.assertEquals(4L, facesContextHelper.getTotalSuppressedScriptCount());
+	}
+
+	@Test
+	public void testSegmentedScriptHashCode() {
+
+		StringBuilder buf = new StringBuilder();
+
+		for (int i = 0; i < 1000; i++) {
+			buf.append("alert(").append(i).append(");");
+		}
+
+		String sourceCode = buf.toString();
+		SegmentedScript segmentedScript = (SegmentedScript) newSegmentedScript(sourceCode);
+		Assert.assertEquals(sourceCode.hashCode(), segmentedScript.getSourceCodeHashCode());
+		Assert.assertEquals(sourceCode.length(), segmentedScript.getSourceCodeLength());
+	}
+}
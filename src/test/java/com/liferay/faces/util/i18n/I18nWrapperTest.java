@@ -0,0 +1,224 @@
+/**
+ * Copyright (c) 2000-2018 Liferay, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.liferay.faces.util.i18n;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import javax.faces.application.FacesMessage;
+import javax.faces.context.ExternalContext;
+import javax.faces.context.ExternalContextWrapper;
+import javax.faces.context.FacesContext;
+import javax.faces.context.FacesContextWrapper;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+
+/**
+ * @author  Kyle Stiemann
+ */
+public class I18nWrapperTest {
+
+	private static FacesContext newFacesContext() {
+
+		final Map<String, Object> applicationMap = new HashMap<String, Object>();
+		final ExternalContext externalContext = new ExternalContextWrapper() {
+
+				@Override
+				public Map<String, Object> getApplicationMap() {
+					return applicationMap;
+				}
+
+				@Override
+				public ExternalContext getWrapped() {
+					throw new UnsupportedOperationException();
+				}
+			};
+
+		return new FacesContextWrapper() {
+
+				@Override
+				public ExternalContext getExternalContext() {
+					return externalContext;
+				}
+
+				@Override
+				public FacesContext getWrapped() {
+					throw new UnsupportedOperationException();
+				}
+			};
+	}
+
+	@Test
+	public void testBundleBaseGetMessages() {
+
+		I18nStub wrappedI18n = new I18nStub();
+		I18n i18nBundleBase = new I18nBundleBase(wrappedI18n) {
+
+				@Override
+				public String getBundleKey() {
+					return "bundle";
+				}
+			};
+
+		FacesContext facesContext = newFacesContext();
+		Map<String, String> messages = i18nBundleBase.getMessages(facesContext, Locale.ENGLISH,
+				Arrays.asList("missing1", "bundled", "missing2"));
+		Assert.assertEquals(Arrays.asList("missing1", "bundled", "missing2"),
+			Arrays.asList(messages.keySet().toArray()));
+		Assert.assertEquals("bundle:bundled", messages.get("bundled"));
+
+		// The messages that are not in the bundle are passed down the delegation chain with a single bulk call.
+		Assert.assertEquals("bulk:missing1", messages.get("missing1"));
+		Assert.assertEquals("bulk:missing2", messages.get("missing2"));
+		Assert.assertEquals(Collections.singletonList(Arrays.asList("missing1", "missing2")),
+			wrappedI18n.bulkMessageIds);
+
+		// Messages that are all in the bundle are not passed down at all.
+		wrappedI18n.bulkMessageIds.clear();
+		messages = i18nBundleBase.getMessages(facesContext, Locale.ENGLISH, Arrays.asList("bundled"));
+		Assert.assertEquals("bundle:bundled", messages.get("bundled"));
+		Assert.assertTrue(wrappedI18n.bulkMessageIds.isEmpty());
+	}
+
+	@Test
+	public void testGetMessagesCallsGetMessage() {
+
+		final I18n wrappedI18n = new I18nStub();
+		I18n i18nWrapper = new I18nWrapper() {
+
+				@Override
+				public String getMessage(FacesContext facesContext, Locale locale, String messageId) {
+
+					if ("overridden".equals(messageId)) {
+						return "wrapper:" + messageId;
+					}
+
+					return super.getMessage(facesContext, locale, messageId);
+				}
+
+				@Override
+				public I18n getWrapped() {
+					return wrappedI18n;
+				}
+			};
+
+		Map<String, String> messages = i18nWrapper.getMessages(null, Locale.ENGLISH,
+				Arrays.asList("overridden", "inherited"));
+		Assert.assertEquals(Arrays.asList("overridden", "inherited"), Arrays.asList(messages.keySet().toArray()));
+
+		for (Map.Entry<String, String> entry : messages.entrySet()) {
+			Assert.assertEquals(i18nWrapper.getMessage(null, Locale.ENGLISH, entry.getKey()), entry.getValue());
+		}
+
+		Assert.assertEquals("wrapper:overridden", messages.get("overridden"));
+		Assert.assertEquals("stub:inherited", messages.get("inherited"));
+
+		try {
+			messages.put("immutable", "immutable");
+			Assert.fail("Expected the map of messages to be immutable");
+		}
+		catch (UnsupportedOperationException e) {
+			// expected
+		}
+	}
+
+	private static final class I18nStub implements I18n {
+
+		// Private Final Data Members
+		private final List<List<String>> bulkMessageIds = new ArrayList<List<String>>();
+
+		@Override
+		public FacesMessage getFacesMessage(FacesContext facesContext, Locale locale, FacesMessage.Severity severity,
+			String messageId) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public FacesMessage getFacesMessage(FacesContext facesContext, Locale locale, FacesMessage.Severity severity,
+			String messageId, Object... arguments) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public String getMessage(FacesContext facesContext, Locale locale, String messageId) {
+			return "stub:" + messageId;
+		}
+
+		@Override
+		public String getMessage(FacesContext facesContext, Locale locale, String messageId, Object... arguments) {
+			return getMessage(facesContext, locale, messageId);
+		}
+
+		@Override
+		public MessageCatalog getMessageCatalog(FacesContext facesContext, final Locale locale,
+			final String baseName) {
+
+			return new MessageCatalog() {
+
+					@Override
+					public String getBaseName() {
+						return baseName;
+					}
+
+					@Override
+					public Locale getLocale() {
+						return locale;
+					}
+
+					@Override
+					public String getMessage(String messageId) {
+						return "bundled".equals(messageId) ? (baseName + ":" + messageId) : null;
+					}
+
+					@Override
+					public Set<String> getMessageIds() {
+						return Collections.singleton("bundled");
+					}
+
+					@Override
+					public int getSize() {
+						return 1;
+					}
+				};
+		}
+
+		@Override
+		public Map<String, String> getMessages(FacesContext facesContext, Locale locale,
+			Collection<String> messageIds) {
+
+			// Deliberately different from getMessage so that the test fails if the wrapper delegates the bulk call.
+			bulkMessageIds.add(new ArrayList<String>(messageIds));
+
+			Map<String, String> messages = new LinkedHashMap<String, String>();
+
+			for (String messageId : messageIds) {
+				messages.put(messageId, "bulk:" + messageId);
+			}
+
+			return messages;
+		}
+	}
+}
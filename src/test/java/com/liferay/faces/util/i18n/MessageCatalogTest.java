@@ -0,0 +1,138 @@
+/**
+ * Copyright (c) 2000-2018 Liferay, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.liferay.faces.util.i18n;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.ResourceBundle;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.liferay.faces.util.cache.internal.CacheFactoryImpl;
+import com.liferay.faces.util.i18n.internal.BundleResourceResolver;
+import com.liferay.faces.util.i18n.internal.MessageCatalogImpl;
+import com.liferay.faces.util.i18n.internal.UTF8Control;
+
+
+/**
+ * @author  Kyle Stiemann
+ */
+public class MessageCatalogTest {
+
+	// Private Constants
+	private static final String BASE_NAME = "com.liferay.faces.util.i18n.catalog";
+
+	private static void assertCatalogEqualsResourceBundle(Locale locale, String... messageIds) {
+
+		MessageCatalog messageCatalog = newMessageCatalog(newBundleResourceResolver(), BASE_NAME, locale);
+		ClassLoader classLoader = MessageCatalogTest.class.getClassLoader();
+		ResourceBundle resourceBundle = ResourceBundle.getBundle(BASE_NAME, locale, classLoader, new UTF8Control());
+
+		for (String messageId : messageIds) {
+
+			String expected = null;
+
+			if (resourceBundle.containsKey(messageId)) {
+				expected = resourceBundle.getString(messageId);
+			}
+
+			Assert.assertEquals(expected, messageCatalog.getMessage(messageId));
+		}
+	}
+
+	private static BundleResourceResolver newBundleResourceResolver() {
+		return new BundleResourceResolver(new CacheFactoryImpl());
+	}
+
+	private static MessageCatalog newMessageCatalog(BundleResourceResolver bundleResourceResolver, String baseName,
+		Locale locale) {
+
+		ClassLoader classLoader = MessageCatalogTest.class.getClassLoader();
+		List<URL> bundleResources = bundleResourceResolver.getBundleResources(baseName, locale, classLoader);
+
+		return MessageCatalogImpl.newInstance(baseName, locale, bundleResources);
+	}
+
+	@Test
+	public void testFallbackChain() {
+
+		String[] messageIds = new String[] { "greeting", "farewell", "onlyRoot", "missing" };
+		assertCatalogEqualsResourceBundle(new Locale("pt", "BR"), messageIds);
+		assertCatalogEqualsResourceBundle(new Locale("pt"), messageIds);
+		assertCatalogEqualsResourceBundle(Locale.ROOT, messageIds);
+		assertCatalogEqualsResourceBundle(new Locale("de", "DE"), messageIds);
+
+		MessageCatalog messageCatalog = newMessageCatalog(newBundleResourceResolver(), BASE_NAME,
+				new Locale("pt", "BR"));
+		Assert.assertEquals("Oi", messageCatalog.getMessage("greeting"));
+		Assert.assertEquals("Adeus", messageCatalog.getMessage("farewell"));
+		Assert.assertEquals("Root", messageCatalog.getMessage("onlyRoot"));
+		Assert.assertEquals(3, messageCatalog.getSize());
+		Assert.assertNull(messageCatalog.getMessage(null));
+	}
+
+	@Test
+	public void testMissingBundle() {
+
+		MessageCatalog messageCatalog = newMessageCatalog(newBundleResourceResolver(),
+				"com.liferay.faces.util.i18n.missing", Locale.ENGLISH);
+		Assert.assertEquals(0, messageCatalog.getSize());
+		Assert.assertNull(messageCatalog.getMessage("greeting"));
+	}
+
+	@Test
+	public void testResourceProbesAreCached() {
+
+		final List<String> probedResourceNames = new ArrayList<String>();
+		ClassLoader classLoader = new ClassLoader(MessageCatalogTest.class.getClassLoader()) {
+				@Override
+				public URL getResource(String name) {
+
+					probedResourceNames.add(name);
+
+					return super.getResource(name);
+				}
+			};
+
+		BundleResourceResolver bundleResourceResolver = newBundleResourceResolver();
+		List<URL> ptBRResources = bundleResourceResolver.getBundleResources(BASE_NAME, new Locale("pt", "BR"),
+				classLoader);
+		Assert.assertEquals(3, ptBRResources.size());
+		Assert.assertEquals(ptBRResources, bundleResourceResolver.getBundleResources(BASE_NAME,
+				new Locale("pt", "BR"), classLoader));
+
+		int probeCount = probedResourceNames.size();
+
+		// Only the "pt_PT" resource (which does not exist) should be probed since "pt" and the root locale have
+		// already been probed.
+		List<URL> ptPTResources = bundleResourceResolver.getBundleResources(BASE_NAME, new Locale("pt", "PT"),
+				classLoader);
+		Assert.assertEquals(2, ptPTResources.size());
+		Assert.assertEquals(probeCount + 1, probedResourceNames.size());
+		Assert.assertEquals("com/liferay/faces/util/i18n/catalog_pt_PT.properties",
+			probedResourceNames.get(probeCount));
+	}
+
+	@Test
+	public void testUTF8() {
+
+		MessageCatalog messageCatalog = newMessageCatalog(newBundleResourceResolver(), BASE_NAME, new Locale("pt"));
+		Assert.assertEquals("Olá", messageCatalog.getMessage("greeting"));
+	}
+}
@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) 2000-2018 Liferay, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.liferay.faces.util.i18n;
+
+import java.text.MessageFormat;
+import java.util.Date;
+import java.util.Locale;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.liferay.faces.util.i18n.internal.MessageTemplate;
+
+
+/**
+ * @author  Kyle Stiemann
+ */
+public class MessageTemplateTest {
+
+	private static void assertFormatEquals(String pattern, Object... arguments) {
+
+		String expected = MessageFormat.format(pattern, arguments);
+		Assert.assertEquals(expected, MessageTemplate.format(pattern, arguments));
+
+		// Ensure that the cached template produces the same result.
+		Assert.assertEquals(expected, MessageTemplate.format(pattern, arguments));
+	}
+
+	@Test
+	public void testComplexPatterns() {
+
+		assertFormatEquals("It''s {0}", "quoted");
+		assertFormatEquals("'{0}' is not a placeholder but {1} is", "a", "b");
+		assertFormatEquals("{0,number,#.##} items", 3.14159);
+		assertFormatEquals("{0,choice,0#no files|1#one file|1<{0} files}", 5);
+	}
+
+	@Test
+	public void testInvalidPattern() {
+
+		try {
+			MessageTemplate.format("{0", "a");
+			Assert.fail("Expected an IllegalArgumentException for an unclosed placeholder");
+		}
+		catch (IllegalArgumentException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testNumericArguments() {
+
+		assertFormatEquals("Length is greater than allowable maximum of ''{0}''", 10);
+		assertFormatEquals("Value is not between the expected values of {0} and {1}.", 1234, 56789.5);
+		assertFormatEquals("{0} of {1} on {2}", 1, 2L, new Date(0));
+
+		// The compiled MessageFormat must follow changes to the default locale.
+		Locale defaultLocale = Locale.getDefault();
+
+		try {
+
+			Locale.setDefault(Locale.GERMANY);
+			assertFormatEquals("Value is not between the expected values of {0} and {1}.", 1234, 56789.5);
+			Assert.assertEquals("Maximum 1.234,5", MessageTemplate.format("Maximum {0}", 1234.5));
+		}
+		finally {
+			Locale.setDefault(defaultLocale);
+		}
+
+		assertFormatEquals("Value is not between the expected values of {0} and {1}.", 1234, 56789.5);
+	}
+
+	@Test
+	public void testSimplePatterns() {
+
+		assertFormatEquals("No placeholders");
+		assertFormatEquals("");
+		assertFormatEquals("{0}", "a");
+		assertFormatEquals("Value {0} is not between {1} and {2}.", "x", "y", "z");
+		assertFormatEquals("{1}{0}{1}", "a", "b");
+		assertFormatEquals("Missing {0} and {3}", "a");
+		assertFormatEquals("Null {0}", (Object) null);
+		assertFormatEquals("Null arguments {0}", (Object[]) null);
+		assertFormatEquals("Brace } outside of a placeholder {0}", "a");
+		assertFormatEquals("Object {0}", new StringBuilder("toString"));
+		assertFormatEquals("Number {0}", 1234567);
+		assertFormatEquals("Date {0}", new Date(0));
+	}
+}
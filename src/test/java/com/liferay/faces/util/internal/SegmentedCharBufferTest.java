@@ -0,0 +1,63 @@
+/**
+ * Copyright (c) 2000-2018 Liferay, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.liferay.faces.util.internal;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+
+/**
+ * @author  Kyle Stiemann
+ */
+public class SegmentedCharBufferTest {
+
+	@Test
+	public void testSegmentedCharBuffer() throws IOException {
+
+		// Write enough characters (with a mix of the write methods) to span several segments.
+		StringBuilder expected = new StringBuilder();
+		SegmentedCharBuffer segmentedCharBuffer = new SegmentedCharBuffer();
+
+		for (int i = 0; i < 2000; i++) {
+
+			String string = "var x" + i + " = '" + i + "';";
+			expected.append(string);
+			segmentedCharBuffer.write(string);
+			expected.append('\n');
+			segmentedCharBuffer.write('\n');
+
+			char[] chars = ("//" + i).toCharArray();
+			expected.append(chars, 1, chars.length - 1);
+			segmentedCharBuffer.write(chars, 1, chars.length - 1);
+		}
+
+		Assert.assertEquals(expected.length(), segmentedCharBuffer.length());
+		Assert.assertEquals(expected.toString(), segmentedCharBuffer.toString());
+
+		StringWriter stringWriter = new StringWriter();
+		segmentedCharBuffer.writeTo(stringWriter);
+		Assert.assertEquals(expected.toString(), stringWriter.toString());
+
+		segmentedCharBuffer.reset();
+		Assert.assertEquals(0, segmentedCharBuffer.length());
+		Assert.assertEquals("", segmentedCharBuffer.toString());
+		segmentedCharBuffer.write("reused");
+		Assert.assertEquals("reused", segmentedCharBuffer.toString());
+	}
+}
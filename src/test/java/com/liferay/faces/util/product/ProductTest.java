@@ -20,6 +20,7 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.net.URI;
 import java.net.URL;
+import java.net.URLClassLoader;
 
 import javax.portlet.PortletContext;
 
@@ -32,6 +33,7 @@ import com.liferay.faces.util.logging.LoggerFactory;
 import com.liferay.faces.util.product.internal.ProductBase;
 import com.liferay.faces.util.product.internal.ProductFactoryImpl;
 import com.liferay.faces.util.product.internal.ProductInfo;
+import com.liferay.faces.util.product.internal.ProductInfoCache;
 import com.liferay.faces.util.product.internal.ProductPortletApiImpl;
 
 
@@ -198,6 +200,59 @@ public class ProductTest {
 		logger.info("All Products were correctly obtained from the default ProductFactory.");
 	}
 
+	@Test
+	public void productFactoryReturnsSameInstance() {
+
+		ProductFactory productFactory = new ProductFactoryImpl();
+
+		for (Product.Name productName : Product.Name.values()) {
+			Assert.assertSame("ProductFactory.getProductInfo(Product.Name." + productName +
+				") did not return the same instance when called twice.", productFactory.getProductInfo(productName),
+				productFactory.getProductInfo(productName));
+		}
+	}
+
+	@Test
+	public void productInfoCacheDiscardedWhenClasspathChanges() throws Exception {
+
+		File cacheDir = File.createTempFile("product-info-cache", "");
+		Assert.assertTrue(cacheDir.delete());
+
+		ClassLoader classLoader = this.getClass().getClassLoader();
+		ProductInfoCache productInfoCache = new ProductInfoCache(cacheDir, classLoader);
+		Assert.assertNull(productInfoCache.getProductInfo(Product.Name.MOJARRA));
+
+		ProductInfo productInfo = new ProductInfo(true, "Mojarra", "2.3.5", "Mojarra 2.3.5", 2, 3, 5, 235);
+		productInfoCache.putProductInfo(Product.Name.MOJARRA, productInfo);
+
+		// Ensure that the cached product information is obtained after a restart with the same classpath.
+		productInfoCache = new ProductInfoCache(cacheDir, classLoader);
+
+		ProductInfo cachedProductInfo = productInfoCache.getProductInfo(Product.Name.MOJARRA);
+		Assert.assertNotNull(cachedProductInfo);
+		Assert.assertTrue(cachedProductInfo.detected);
+		Assert.assertEquals(productInfo.title, cachedProductInfo.title);
+		Assert.assertEquals(productInfo.version, cachedProductInfo.version);
+		Assert.assertEquals(productInfo.stringValue, cachedProductInfo.stringValue);
+		Assert.assertEquals(productInfo.majorVersion, cachedProductInfo.majorVersion);
+		Assert.assertEquals(productInfo.minorVersion, cachedProductInfo.minorVersion);
+		Assert.assertEquals(productInfo.patchVersion, cachedProductInfo.patchVersion);
+		Assert.assertEquals(productInfo.buildId, cachedProductInfo.buildId);
+
+		// Ensure that the cached product information is discarded when the classpath changes.
+		String pathToJar = System.getProperty("javax.portlet_portlet-api_jar");
+		URL jarURL = new File(pathToJar).toURI().toURL();
+		ClassLoader changedClassLoader = new URLClassLoader(new URL[] { jarURL }, classLoader);
+		productInfoCache = new ProductInfoCache(cacheDir, changedClassLoader);
+		Assert.assertNull(productInfoCache.getProductInfo(Product.Name.MOJARRA));
+
+		for (File file : cacheDir.listFiles()) {
+			file.delete();
+		}
+
+		cacheDir.delete();
+	}
+
 	@Test
 	public void productNotDetected() {
 
@@ -0,0 +1,52 @@
+/**
+ * Copyright (c) 2000-2018 Liferay, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.liferay.faces.util.render;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+
+/**
+ * @author  Kyle Stiemann
+ */
+public class RendererUtilTest {
+
+	private static void assertEscapeJavaScriptEquals(String expected, String javaScript) throws IOException {
+
+		Assert.assertEquals(expected, RendererUtil.escapeJavaScript(javaScript));
+
+		StringWriter stringWriter = new StringWriter();
+		RendererUtil.escapeJavaScript(stringWriter, javaScript);
+		Assert.assertEquals(expected, stringWriter.toString());
+	}
+
+	@Test
+	public void testEscapeJavaScript() throws IOException {
+
+		assertEscapeJavaScriptEquals("", "");
+		assertEscapeJavaScriptEquals("abc123", "abc123");
+		assertEscapeJavaScriptEquals("\\x27\\x3b\\x20alert\\x28\\x29\\x3b\\x2f\\x2f",
+			"'; alert();//");
+		assertEscapeJavaScriptEquals("\\x3c\\x2fscript\\x3e", "</script>");
+		assertEscapeJavaScriptEquals("line\\x0a\\x00end", "line\n\u0000end");
+
+		// Letters in the Latin-1 range and characters above 255 are not escaped.
+		assertEscapeJavaScriptEquals("café\\xd7€中", "café×€中");
+	}
+}
@@ -0,0 +1,77 @@
+/**
+ * Copyright (c) 2000-2018 Liferay, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.liferay.faces.util.render.internal;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+
+/**
+ * @author  Kyle Stiemann
+ */
+public class JavaScriptLiteralWriterTest {
+
+	@Test
+	public void testFunctionCall() throws IOException {
+
+		StringWriter stringWriter = new StringWriter();
+		JavaScriptLiteralWriter javaScriptLiteralWriter = JavaScriptLiteralWriter.getInstance(null, stringWriter);
+		javaScriptLiteralWriter.beginFunctionCall("LFAI.init");
+		javaScriptLiteralWriter.writeValue("it's");
+		javaScriptLiteralWriter.writeValue(new Object[] { 1, null, new Object[] {}, "a" });
+		javaScriptLiteralWriter.writeValue(true);
+		javaScriptLiteralWriter.endFunctionCall();
+		javaScriptLiteralWriter.flush();
+		Assert.assertEquals("LFAI.init('it\\x27s',[1,null,[],'a'],true)", stringWriter.toString());
+	}
+
+	@Test
+	public void testObject() throws IOException {
+
+		StringWriter stringWriter = new StringWriter();
+		JavaScriptLiteralWriter javaScriptLiteralWriter = JavaScriptLiteralWriter.getInstance(null, stringWriter);
+		javaScriptLiteralWriter.beginObject();
+		javaScriptLiteralWriter.writePropertyName("a");
+		javaScriptLiteralWriter.writeNumber(1.5);
+		javaScriptLiteralWriter.writePropertyName("b");
+		javaScriptLiteralWriter.beginObject();
+		javaScriptLiteralWriter.writePropertyName("c");
+		javaScriptLiteralWriter.writeRaw("function(){}");
+		javaScriptLiteralWriter.endObject();
+		javaScriptLiteralWriter.writePropertyName("d");
+		javaScriptLiteralWriter.writeString(null);
+		javaScriptLiteralWriter.endObject();
+		javaScriptLiteralWriter.flush();
+		Assert.assertEquals("{a:1.5,b:{c:function(){}},d:null}", stringWriter.toString());
+
+		// Strings that are longer than the internal buffer are written through to the underlying writer.
+		StringBuilder buf = new StringBuilder();
+
+		for (int i = 0; i < 1000; i++) {
+			buf.append("ab");
+		}
+
+		stringWriter = new StringWriter();
+		javaScriptLiteralWriter = JavaScriptLiteralWriter.getInstance(null, stringWriter);
+		javaScriptLiteralWriter.writePropertyName("e", false);
+		javaScriptLiteralWriter.writeString(buf.toString());
+		javaScriptLiteralWriter.flush();
+		Assert.assertEquals(",e:'" + buf + "'", stringWriter.toString());
+	}
+}